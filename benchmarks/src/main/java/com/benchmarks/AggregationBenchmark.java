@@ -0,0 +1,77 @@
+package com.benchmarks;
+
+import com.gateway.aggregation.AsyncAggregator;
+import com.gateway.assembler.ProductResourceAssembler;
+import com.gateway.assembler.VendorResourceAssembler;
+import com.gateway.batch.ProductBatchLoader;
+import com.gateway.batch.VendorBatchLoader;
+import com.gateway.client.ProductClient;
+import com.gateway.client.VendorClient;
+import com.gateway.controller.VendorController;
+import com.gateway.payload.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.Resource;
+import org.springframework.hateoas.Resources;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vendor/product aggregation in {@link VendorController#getProductsByVendorId(Long)} with the
+ * downstream services replaced by in-memory stubs, so the score is the gateway's own fan-out,
+ * merge and resource assembly for a vendor owning the whole catalog.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AggregationBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    private AsyncAggregator aggregator;
+    private VendorBatchLoader vendorLoader;
+    private ProductBatchLoader productLoader;
+    private VendorController controller;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Catalog catalog = Catalog.of(size);
+        VendorClient vendorClient = StubClients.vendorClient(catalog);
+        ProductClient productClient = StubClients.productClient(catalog);
+        MeterRegistry registry = new SimpleMeterRegistry();
+
+        aggregator = new AsyncAggregator(4, 64);
+        vendorLoader = new VendorBatchLoader(vendorClient, registry, 1, 0, 4, 64);
+        productLoader = new ProductBatchLoader(productClient, registry, 1, 0, 4, 64);
+        controller = new VendorController(vendorClient, productClient,
+                new VendorResourceAssembler(), new ProductResourceAssembler(), aggregator,
+                vendorLoader, productLoader);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        vendorLoader.shutdown();
+        productLoader.shutdown();
+        aggregator.shutdown();
+    }
+
+    @Setup(Level.Invocation)
+    public void beginRequest() {
+        Requests.begin("/vendors/" + Catalog.VENDOR_ID + "/products");
+    }
+
+    @TearDown(Level.Invocation)
+    public void endRequest() {
+        Requests.end();
+    }
+
+    @Benchmark
+    public Resources<Resource<Product>> vendorProducts() {
+        return controller.getProductsByVendorId(Catalog.VENDOR_ID);
+    }
+}
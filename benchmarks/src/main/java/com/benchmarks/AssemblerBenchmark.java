@@ -0,0 +1,71 @@
+package com.benchmarks;
+
+import com.gateway.assembler.ProductResourceAssembler;
+import com.gateway.controller.ProductController;
+import com.gateway.controller.VendorController;
+import com.gateway.payload.Product;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.hateoas.Resource;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
+
+/**
+ * Cost of turning one page of products into HATEOAS resources within a single request.
+ * {@code legacyProductLinks} builds the same links the way the assembler did before link
+ * templates, with a {@code linkTo(methodOn(...))} call per link. A single vendor is measured
+ * by {@link VendorAssemblerBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class AssemblerBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    private final ProductResourceAssembler productAssembler = new ProductResourceAssembler();
+    private Catalog catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = Catalog.of(size);
+    }
+
+    @Setup(Level.Invocation)
+    public void beginRequest() {
+        Requests.begin("/products");
+    }
+
+    @TearDown(Level.Invocation)
+    public void endRequest() {
+        Requests.end();
+    }
+
+    @Benchmark
+    public void productToResource(Blackhole blackhole) {
+        for (Product product : catalog.products()) {
+            blackhole.consume(productAssembler.toResource(product));
+        }
+    }
+
+    @Benchmark
+    public void legacyProductLinks(Blackhole blackhole) {
+        for (Product product : catalog.products()) {
+            Resource<Product> resource = new Resource<>(product,
+                    linkTo(methodOn(ProductController.class).getProductById(product.getId(), null)).withSelfRel());
+            resource.add(
+                    linkTo(methodOn(VendorController.class)
+                            .getProductsByVendorId(product.getVendorId())).withRel("vendor"),
+                    linkTo(methodOn(VendorController.class)
+                            .getProductByVendorIdAndProductId(product.getVendorId(), product.getId())).withSelfRel());
+            blackhole.consume(resource);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.benchmarks;
+
+import com.gateway.payload.Product;
+import com.gateway.payload.Vendor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * In-memory catalog where vendor 1 owns every product, the worst case for the
+ * per-vendor aggregation endpoints.
+ */
+final class Catalog {
+
+    static final Long VENDOR_ID = 1L;
+
+    private final Vendor vendor = new Vendor(VENDOR_ID, "Vendor 1");
+    private final List<Product> products;
+
+    private Catalog(List<Product> products) {
+        this.products = Collections.unmodifiableList(products);
+    }
+
+    static Catalog of(int size) {
+        List<Product> products = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            products.add(new Product(id, "Product " + id, BigDecimal.valueOf(id, 2), "image-" + id + ".png", VENDOR_ID));
+        }
+        return new Catalog(products);
+    }
+
+    Vendor vendor(Long id) {
+        return VENDOR_ID.equals(id) ? vendor : new Vendor(id, "Vendor " + id);
+    }
+
+    List<Product> products() {
+        return products;
+    }
+
+    List<Product> productsOf(Long vendorId) {
+        return VENDOR_ID.equals(vendorId) ? products : Collections.emptyList();
+    }
+
+    Product product(Long id) {
+        return products.get((int) (id - 1));
+    }
+}
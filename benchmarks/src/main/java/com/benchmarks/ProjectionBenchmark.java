@@ -0,0 +1,121 @@
+package com.benchmarks;
+
+import com.productservice.repository.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.Database;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * product-service list reads against an in-memory H2 catalog, through the real
+ * {@link ProductRepository}. {@code entities} is the page query the GET endpoints used before
+ * read-only views; {@code entitiesInWriteTransaction} is the same query under a read-write
+ * transaction, adding the flush-time dirty check; {@code views} is the read-only constructor
+ * projection they use now. Run with {@code -prof gc} to see the allocation difference.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectionBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private AnnotationConfigApplicationContext context;
+    private ProductRepository repository;
+    private TransactionTemplate writeTransaction;
+    private PageRequest page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(Jpa.class);
+        repository = context.getBean(ProductRepository.class);
+        writeTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        page = PageRequest.of(0, size);
+
+        List<Object[]> rows = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            rows.add(new Object[]{id, "Product " + id, BigDecimal.valueOf(id, 2), "image" + id, Catalog.VENDOR_ID});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate(
+                "INSERT INTO product (id, name, price, image, vendor_id, version) VALUES (?, ?, ?, ?, ?, 0)", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object entities() {
+        return repository.findByIdGreaterThanOrderByIdAsc(0L, page);
+    }
+
+    @Benchmark
+    public Object entitiesInWriteTransaction() {
+        return writeTransaction.execute(status -> repository.findByIdGreaterThanOrderByIdAsc(0L, page));
+    }
+
+    @Benchmark
+    public Object views() {
+        return repository.findViewsByIdGreaterThan(0L, page);
+    }
+
+    /** Just the JPA pieces product-service's repositories need, on an embedded H2 database. */
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = ProductRepository.class)
+    static class Jpa {
+
+        @Bean
+        DataSource dataSource() {
+            return new EmbeddedDatabaseBuilder()
+                    .setType(EmbeddedDatabaseType.H2)
+                    .generateUniqueName(true)
+                    .build();
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
+            vendorAdapter.setDatabase(Database.H2);
+            vendorAdapter.setGenerateDdl(true);
+
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setJpaVendorAdapter(vendorAdapter);
+            factory.setPackagesToScan("com.productservice.model");
+            return factory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
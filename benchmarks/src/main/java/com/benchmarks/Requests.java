@@ -0,0 +1,26 @@
+package com.benchmarks;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Binds a fresh servlet request to the benchmark thread so link building sees the same
+ * per-request state it would inside the gateway.
+ */
+final class Requests {
+
+    private Requests() {
+    }
+
+    static void begin(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setServerName("gateway");
+        request.setServerPort(8762);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    static void end() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+}
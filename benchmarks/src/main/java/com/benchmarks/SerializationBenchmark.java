@@ -0,0 +1,61 @@
+package com.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.gateway.assembler.ProductResourceAssembler;
+import com.gateway.payload.Product;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.Resource;
+import org.springframework.hateoas.Resources;
+import org.springframework.hateoas.core.DefaultRelProvider;
+import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.hateoas.hal.Jackson2HalModule.HalHandlerInstantiator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * HAL serialization of a product collection, configured as the gateway's message converter is:
+ * the Jackson HAL module with a handler instantiator, without curies.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private Resources<Resource<Product>> resources;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new Jackson2HalModule());
+        mapper.setHandlerInstantiator(new HalHandlerInstantiator(new DefaultRelProvider(), null, null));
+        writer = mapper.writer();
+
+        ProductResourceAssembler assembler = new ProductResourceAssembler();
+        Requests.begin("/products");
+        try {
+            List<Resource<Product>> products = Catalog.of(size).products()
+                    .stream()
+                    .map(assembler::toResource)
+                    .collect(Collectors.toList());
+            resources = new Resources<>(products);
+        } finally {
+            Requests.end();
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeProducts() throws JsonProcessingException {
+        return writer.writeValueAsBytes(resources);
+    }
+}
@@ -0,0 +1,85 @@
+package com.benchmarks;
+
+import com.gateway.client.ProductClient;
+import com.gateway.client.VendorClient;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Feign client stand-ins answering from a {@link Catalog}, so benchmarks measure gateway work only.
+ * Calls the benchmarks do not stub fail with an {@link IllegalStateException} naming the call.
+ */
+final class StubClients {
+
+    private StubClients() {
+    }
+
+    static ProductClient productClient(Catalog catalog) {
+        return stub(ProductClient.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getProductByIdPath":
+                    return ResponseEntity.ok(catalog.product((Long) args[0]));
+                case "getProductsByVendorIdPath":
+                    return catalog.productsOf((Long) args[0]);
+                case "getProductsByIdsPath":
+                    return ((Collection<?>) args[0]).stream()
+                            .map(id -> catalog.product((Long) id))
+                            .collect(Collectors.toList());
+                case "getProductsPath":
+                    return ResponseEntity.ok(page(catalog.products(), (Long) args[0], (Integer) args[1]));
+                default:
+                    throw notStubbed(ProductClient.class, method);
+            }
+        });
+    }
+
+    static VendorClient vendorClient(Catalog catalog) {
+        return stub(VendorClient.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getVendorByIdPath":
+                    return ResponseEntity.ok(catalog.vendor((Long) args[0]));
+                case "getVendorWithProductsById":
+                    return catalog.vendor((Long) args[0]);
+                case "getVendorsByIdsPath":
+                    return ((Collection<?>) args[0]).stream()
+                            .map(id -> catalog.vendor((Long) id))
+                            .collect(Collectors.toList());
+                default:
+                    throw notStubbed(VendorClient.class, method);
+            }
+        });
+    }
+
+    private static IllegalStateException notStubbed(Class<?> type, Method method) {
+        return new IllegalStateException(type.getSimpleName() + "." + method.getName()
+                + " is not stubbed; add it to StubClients before benchmarking code that calls it");
+    }
+
+    private static <T> List<T> page(List<T> items, Long after, Integer limit) {
+        int from = (int) Math.min(after, items.size());
+        return items.subList(from, Math.min(from + limit, items.size()));
+    }
+
+    private static <T> T stub(Class<T> type, BiFunction<Method, Object[], Object> handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        switch (method.getName()) {
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                return type.getSimpleName() + " stub";
+                        }
+                    }
+                    return handler.apply(method, args);
+                }));
+    }
+}
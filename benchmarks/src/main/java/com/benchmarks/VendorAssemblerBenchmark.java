@@ -0,0 +1,41 @@
+package com.benchmarks;
+
+import com.gateway.assembler.VendorResourceAssembler;
+import com.gateway.payload.Vendor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.Resource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning one vendor into a HATEOAS resource. The call takes well under a
+ * microsecond, so the request is bound once per trial rather than per invocation, whose
+ * timing overhead would otherwise dominate the result.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class VendorAssemblerBenchmark {
+
+    private final VendorResourceAssembler vendorAssembler = new VendorResourceAssembler();
+    private Vendor vendor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        vendor = Catalog.of(10).vendor(Catalog.VENDOR_ID);
+        Requests.begin("/vendors");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Requests.end();
+    }
+
+    @Benchmark
+    public Resource<Vendor> vendorToResource() {
+        return vendorAssembler.toResource(vendor);
+    }
+}
@@ -0,0 +1,73 @@
+package com.gateway.aggregation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Issues independent downstream calls concurrently on a bounded pool, so a composite
+ * endpoint waits for its slowest call instead of the sum of all of them.
+ * When the pool and its queue are full the call runs on the caller's thread.
+ */
+@Component
+public class AsyncAggregator {
+
+    private final ThreadPoolExecutor executor;
+
+    public AsyncAggregator(@Value("${gateway.aggregation.pool-size:32}") int poolSize,
+                           @Value("${gateway.aggregation.queue-capacity:256}") int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("aggregation-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+
+    /**
+     * Runs both calls concurrently and combines their results on the calling thread,
+     * which keeps request-bound work such as link building off the pool threads.
+     */
+    public <A, B, R> R join(Supplier<A> first, Supplier<B> second, BiFunction<A, B, R> combiner) {
+        CompletableFuture<A> firstResult = submit(first);
+        CompletableFuture<B> secondResult = submit(second);
+
+        return combiner.apply(await(firstResult), await(secondResult));
+    }
+
+    /**
+     * Waits for the future and rethrows the original failure, so exception handlers
+     * such as {@code FeignExceptionHandler} see the downstream exception unchanged.
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
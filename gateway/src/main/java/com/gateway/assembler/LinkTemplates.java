@@ -0,0 +1,76 @@
+package com.gateway.assembler;
+
+import com.gateway.controller.ProductController;
+import com.gateway.controller.VendorController;
+import org.springframework.hateoas.Link;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+
+/**
+ * Link templates for the assemblers. The controller base URIs are resolved with
+ * {@code linkTo} once per request and kept as a request attribute, so building an item's
+ * links is string concatenation rather than a {@code methodOn} proxy invocation and
+ * URI template resolution per link.
+ */
+final class LinkTemplates {
+
+    private static final String ATTRIBUTE = LinkTemplates.class.getName();
+
+    private final String products;
+    private final String vendors;
+    private final Link productsLink;
+    private final Link vendorsLink;
+
+    private LinkTemplates(String products, String vendors) {
+        this.products = products;
+        this.vendors = vendors;
+        this.productsLink = new Link(products, "products");
+        this.vendorsLink = new Link(vendors, "vendors");
+    }
+
+    static LinkTemplates current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return resolve();
+        }
+
+        LinkTemplates templates = (LinkTemplates) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (templates == null) {
+            templates = resolve();
+            attributes.setAttribute(ATTRIBUTE, templates, RequestAttributes.SCOPE_REQUEST);
+        }
+        return templates;
+    }
+
+    private static LinkTemplates resolve() {
+        return new LinkTemplates(
+                linkTo(ProductController.class).toUri().toString(),
+                linkTo(VendorController.class).toUri().toString());
+    }
+
+    Link product(Long id, String rel) {
+        return new Link(products + "/" + id, rel);
+    }
+
+    Link products() {
+        return productsLink;
+    }
+
+    Link vendor(Long id, String rel) {
+        return new Link(vendors + "/" + id, rel);
+    }
+
+    Link vendorProducts(Long vendorId, String rel) {
+        return new Link(vendors + "/" + vendorId + "/products", rel);
+    }
+
+    Link vendorProduct(Long vendorId, Long productId, String rel) {
+        return new Link(vendors + "/" + vendorId + "/products/" + productId, rel);
+    }
+
+    Link vendors() {
+        return vendorsLink;
+    }
+}
@@ -0,0 +1,175 @@
+package com.gateway.batch;
+
+import com.gateway.aggregation.AsyncAggregator;
+import com.gateway.exception.CustomFeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects single-key lookups that arrive within a short window and resolves them with one
+ * batched downstream call. A batch is dispatched when it reaches {@code maxBatchSize} distinct
+ * keys or when {@code maxDelayMillis} has passed since its first key, whichever comes first.
+ * Concurrent lookups of the same key within a window share one future.
+ *
+ * <p>Batches are loaded on the loader's own pool, which queues rather than running a batch on
+ * the dispatching thread: a timed flush runs on the single scheduler thread, and a downstream
+ * call made there would hold every other window behind one round trip. The queue is bounded
+ * by {@code queueCapacity}; when it is full the batch is not queued and its lookups fail with
+ * {@link RejectedExecutionException}, so a slow downstream sheds load instead of piling up
+ * waiting callers.
+ */
+public abstract class BatchLoader<K, V> {
+
+    private final String name;
+    private final int maxBatchSize;
+    private final long maxDelayMillis;
+    private final ThreadPoolExecutor dispatcher;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final DistributionSummary batchSize;
+    private final Timer queueDelay;
+    private final Counter rejected;
+
+    private final Object lock = new Object();
+    private Map<K, Pending<V>> pending = new LinkedHashMap<>();
+
+    protected BatchLoader(String name, int maxBatchSize, long maxDelayMillis, int maxConcurrentBatches,
+                          int queueCapacity, MeterRegistry registry) {
+        this.name = name;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMillis = maxDelayMillis;
+
+        this.dispatcher = new ThreadPoolExecutor(maxConcurrentBatches, maxConcurrentBatches, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory(name + "-batch-load-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.dispatcher.allowCoreThreadTimeOut(true);
+
+        this.scheduler = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory(name + "-batch-"));
+        this.scheduler.setRemoveOnCancelPolicy(true);
+
+        this.batchSize = DistributionSummary.builder("gateway.batch.size")
+                .description("Distinct keys per dispatched batch")
+                .tag("loader", name)
+                .register(registry);
+        this.queueDelay = Timer.builder("gateway.batch.queue.delay")
+                .description("Time a lookup waited before its batch was dispatched")
+                .tag("loader", name)
+                .register(registry);
+        this.rejected = Counter.builder("gateway.batch.rejected")
+                .description("Batches failed because the load queue was full")
+                .tag("loader", name)
+                .register(registry);
+        Gauge.builder("gateway.batch.queue.depth", dispatcher, executor -> executor.getQueue().size())
+                .description("Batches waiting for a load thread")
+                .tag("loader", name)
+                .register(registry);
+    }
+
+    /**
+     * Loads the values for the given keys in one call. Keys without a value are reported
+     * to their callers as not found.
+     */
+    protected abstract Map<K, V> loadBatch(Set<K> keys);
+
+    public CompletableFuture<V> load(K key) {
+        Map<K, Pending<V>> full = null;
+        Pending<V> lookup;
+
+        synchronized (lock) {
+            lookup = pending.get(key);
+            if (lookup != null) {
+                return lookup.future;
+            }
+
+            lookup = new Pending<>();
+            pending.put(key, lookup);
+
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (pending.size() == 1) {
+                Map<K, Pending<V>> window = pending;
+                scheduler.schedule(() -> flush(window), maxDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (full != null) {
+            dispatch(full);
+        }
+        return lookup.future;
+    }
+
+    public V get(K key) {
+        return AsyncAggregator.await(load(key));
+    }
+
+    private void flush(Map<K, Pending<V>> window) {
+        Map<K, Pending<V>> batch;
+        synchronized (lock) {
+            if (pending != window) {
+                return;
+            }
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    private Map<K, Pending<V>> takePending() {
+        Map<K, Pending<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        return batch;
+    }
+
+    private void dispatch(Map<K, Pending<V>> batch) {
+        long dispatchedAt = System.nanoTime();
+        batchSize.record(batch.size());
+        batch.values().forEach(lookup -> queueDelay.record(dispatchedAt - lookup.enqueuedAt, TimeUnit.NANOSECONDS));
+
+        CompletableFuture<Map<K, V>> load;
+        try {
+            load = CompletableFuture.supplyAsync(() -> loadBatch(Collections.unmodifiableSet(batch.keySet())), dispatcher);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            batch.values().forEach(lookup -> lookup.future.completeExceptionally(e));
+            return;
+        }
+        load.whenComplete((loaded, failure) -> batch.forEach((key, lookup) -> {
+            if (failure != null) {
+                lookup.future.completeExceptionally(failure);
+                return;
+            }
+            V value = loaded.get(key);
+            if (value != null) {
+                lookup.future.complete(value);
+            } else {
+                lookup.future.completeExceptionally(
+                        new CustomFeignException(name + " not found with id: " + key));
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        dispatcher.shutdown();
+    }
+
+    private static final class Pending<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private final long enqueuedAt = System.nanoTime();
+    }
+}
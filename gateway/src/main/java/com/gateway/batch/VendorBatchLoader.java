@@ -0,0 +1,43 @@
+package com.gateway.batch;
+
+import com.gateway.client.VendorClient;
+import com.gateway.payload.Vendor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.gateway.config.CacheConfig.VENDORS;
+
+@Component
+public class VendorBatchLoader extends BatchLoader<Long, Vendor> {
+
+    private final VendorClient client;
+
+    public VendorBatchLoader(VendorClient client, MeterRegistry registry,
+                             @Value("${gateway.batching.max-batch-size:64}") int maxBatchSize,
+                             @Value("${gateway.batching.max-delay-ms:2}") long maxDelayMillis,
+                             @Value("${gateway.batching.max-concurrent-batches:16}") int maxConcurrentBatches,
+                             @Value("${gateway.batching.queue-capacity:64}") int queueCapacity) {
+        super("Vendor", maxBatchSize, maxDelayMillis, maxConcurrentBatches, queueCapacity, registry);
+        this.client = client;
+    }
+
+    @Override
+    @Cacheable(VENDORS)
+    public Vendor get(Long id) {
+        return super.get(id);
+    }
+
+    @Override
+    protected Map<Long, Vendor> loadBatch(Set<Long> ids) {
+        return client.getVendorsByIdsPath(ids)
+                .stream()
+                .collect(Collectors.toMap(Vendor::getId, Function.identity(), (first, second) -> first));
+    }
+}
@@ -1,26 +1,97 @@
 package com.gateway.client;
 
 import com.gateway.payload.Product;
+import com.gateway.payload.ProductSearch;
+import feign.Response;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.cloud.openfeign.SpringQueryMap;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+
+import static com.gateway.config.CacheConfig.PRODUCTS;
+import static com.gateway.config.CacheConfig.VENDOR_PRODUCTS;
 
 @FeignClient("product-service")
 public interface ProductClient {
 
     @GetMapping("/")
-    List<Product> getProductsPath();
+    ResponseEntity<List<Product>> getProductsPath(@RequestParam("after") Long after, @RequestParam("limit") Integer limit,
+                                                  @RequestParam(value = "fields", required = false) String fields,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @GetMapping("/")
+    List<Product> getProductsByIdsPath(@RequestParam("ids") Collection<Long> ids);
+
+    /** Products matching the search, filtered and ordered by product-service. */
+    @GetMapping("/search")
+    ResponseEntity<List<Product>> getSearchProductsPath(@SpringQueryMap ProductSearch search, @RequestParam("limit") Integer limit,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     @GetMapping("/{id}")
-    Product getProductByIdPath(@PathVariable("id") Long id);
+    ResponseEntity<Product> getProductByIdPath(@PathVariable("id") Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    /**
+     * The catalog as newline-delimited JSON. The raw response is returned so the body can be
+     * streamed; the caller must close it.
+     */
+    @GetMapping("/export")
+    Response getProductsExportPath();
 
+    @Cacheable(cacheNames = VENDOR_PRODUCTS, key = "#p0")
+    @GetMapping("/vendors/{vendorId}")
+    List<Product> getProductsByVendorIdPath(@PathVariable("vendorId") Long vendorId);
+
+    @CacheEvict(cacheNames = VENDOR_PRODUCTS, key = "#p0.vendorId", condition = "#p0.vendorId != null")
     @PostMapping("/")
     Product getCreateProductPath(@RequestBody Product product);
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PRODUCTS, key = "#p0"),
+            @CacheEvict(cacheNames = VENDOR_PRODUCTS, allEntries = true)})
     @PutMapping("/{id}")
     Product getPutUpdateProductByIdPath(@PathVariable("id") Long id, @RequestBody Product product);
 
+    /**
+     * Changes only the fields present in {@code changes}. With {@code ifMatch} set, a product
+     * whose version has moved on answers 412 instead of being overwritten.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PRODUCTS, key = "#p0"),
+            @CacheEvict(cacheNames = VENDOR_PRODUCTS, allEntries = true)})
+    @PatchMapping("/{id}")
+    ResponseEntity<Product> getPatchProductByIdPath(@PathVariable("id") Long id, @RequestBody Map<String, Object> changes,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch);
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PRODUCTS, key = "#p0"),
+            @CacheEvict(cacheNames = VENDOR_PRODUCTS, allEntries = true)})
     @DeleteMapping("/{id}")
     void getDeleteProductByIdPath(@PathVariable("id") Long id);
+
+    /**
+     * Changes the prices of the vendor's products in product-service and returns
+     * {@code {"affected": n, "catalogVersion": etag}}.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PRODUCTS, allEntries = true),
+            @CacheEvict(cacheNames = VENDOR_PRODUCTS, key = "#p0")})
+    @PostMapping("/vendors/{vendorId}/prices")
+    ResponseEntity<Map<String, Object>> getAdjustPricesPath(@PathVariable("vendorId") Long vendorId,
+                                                            @RequestBody Map<String, Object> adjustment);
+
+    /** Deletes every product of the vendor in product-service and returns {@code {"deleted": n}}. */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PRODUCTS, allEntries = true),
+            @CacheEvict(cacheNames = VENDOR_PRODUCTS, key = "#p0")})
+    @DeleteMapping("/vendors/{vendorId}")
+    Map<String, Long> getDeleteProductsByVendorIdPath(@PathVariable("vendorId") Long vendorId);
 }
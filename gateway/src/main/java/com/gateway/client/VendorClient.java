@@ -1,29 +1,64 @@
 package com.gateway.client;
 
 import com.gateway.payload.Vendor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+
+import static com.gateway.config.CacheConfig.VENDORS;
+import static com.gateway.config.CacheConfig.VENDOR_PRODUCTS;
 
 @FeignClient("vendor-service")
 public interface VendorClient {
 
     @GetMapping("/")
-    List<Vendor> getVendorsPath();
+    List<Vendor> getVendorsPath(@RequestParam("after") Long after, @RequestParam("limit") Integer limit);
+
+    @GetMapping("/")
+    List<Vendor> getVendorsByIdsPath(@RequestParam("ids") Collection<Long> ids);
 
     @GetMapping("/{id}")
-    Vendor getVendorByIdPath(@PathVariable("id") Long id);
+    ResponseEntity<Vendor> getVendorByIdPath(@PathVariable("id") Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     @PostMapping("/")
     Vendor getCreateVendorPath(@RequestBody Vendor vendor);
 
+    /**
+     * Creates the vendors whose names do not exist yet and returns one vendor per input
+     * entry, in input order.
+     */
+    @PostMapping("/bulk")
+    List<Vendor> getUpsertVendorsPath(@RequestBody List<Vendor> vendors);
+
+    @CacheEvict(cacheNames = VENDORS, key = "#p0")
     @PutMapping("/{id}")
     Vendor getUpdateVendorByIdPath(@PathVariable("id") Long id, @RequestBody Vendor vendor);
 
+    /**
+     * Changes only the fields present in {@code changes}. With {@code ifMatch} set, a vendor
+     * whose version has moved on answers 412 instead of being overwritten.
+     */
+    @CacheEvict(cacheNames = VENDORS, key = "#p0")
+    @PatchMapping("/{id}")
+    ResponseEntity<Vendor> getPatchVendorByIdPath(@PathVariable("id") Long id, @RequestBody Map<String, Object> changes,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch);
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = VENDORS, key = "#p0"),
+            @CacheEvict(cacheNames = VENDOR_PRODUCTS, key = "#p0")})
     @DeleteMapping("/{id}")
     void getDeleteVendorByIdPath(@PathVariable("id") Long id);
 
+    @Cacheable(cacheNames = VENDORS, key = "#p0")
     @GetMapping("/{id}")
     Vendor getVendorWithProductsById(@PathVariable("id") Long id);
 }
\ No newline at end of file
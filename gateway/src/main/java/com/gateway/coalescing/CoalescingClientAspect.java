@@ -0,0 +1,66 @@
+package com.gateway.coalescing;
+
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Coalesces identical concurrent GET calls made through {@code VendorClient} and
+ * {@code ProductClient}: calls with the same method and arguments share one Feign request.
+ * Writes always go through. Runs after the cache advice and before client timing.
+ */
+@Aspect
+@Component
+@Order(1)
+public class CoalescingClientAspect {
+
+    private final SingleFlight<List<Object>> vendorCalls;
+    private final SingleFlight<List<Object>> productCalls;
+
+    public CoalescingClientAspect(MeterRegistry registry) {
+        this.vendorCalls = new SingleFlight<>("vendor-service", registry);
+        this.productCalls = new SingleFlight<>("product-service", registry);
+    }
+
+    @Around("execution(* com.gateway.client.VendorClient.*(..))")
+    public Object coalesceVendorCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return coalesce(vendorCalls, joinPoint);
+    }
+
+    @Around("execution(* com.gateway.client.ProductClient.*(..))")
+    public Object coalesceProductCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return coalesce(productCalls, joinPoint);
+    }
+
+    private static Object coalesce(SingleFlight<List<Object>> calls, ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        // a raw Response body is a stream and can only be read by one caller
+        if (!method.isAnnotationPresent(GetMapping.class) || method.getReturnType() == Response.class) {
+            return joinPoint.proceed();
+        }
+
+        List<Object> key = Arrays.asList(method, Arrays.asList(joinPoint.getArgs()));
+        return calls.execute(key, () -> proceed(joinPoint));
+    }
+
+    private static Object proceed(ProceedingJoinPoint joinPoint) {
+        try {
+            return joinPoint.proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+}
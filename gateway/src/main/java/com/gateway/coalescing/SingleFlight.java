@@ -0,0 +1,56 @@
+package com.gateway.coalescing;
+
+import com.gateway.aggregation.AsyncAggregator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent callers asking for the same key share one in-flight call and its result.
+ * In-flight calls are tracked per key, so callers for different keys never wait on each other.
+ * Callers that share a result must treat it as read-only.
+ */
+public class SingleFlight<K> {
+
+    private final ConcurrentMap<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry registry) {
+        this.executed = Counter.builder("gateway.coalescing.calls")
+                .description("Calls that went downstream or joined an identical call already in flight")
+                .tags("client", name, "result", "executed")
+                .register(registry);
+        this.coalesced = Counter.builder("gateway.coalescing.calls")
+                .description("Calls that went downstream or joined an identical call already in flight")
+                .tags("client", name, "result", "coalesced")
+                .register(registry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(K key, Supplier<T> call) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            coalesced.increment();
+            return (T) AsyncAggregator.await(existing);
+        }
+
+        executed.increment();
+        try {
+            T result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+}
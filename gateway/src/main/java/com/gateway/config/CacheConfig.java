@@ -0,0 +1,18 @@
+package com.gateway.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches by-id reads and vendor product lists in front of the Feign clients. The cache advice
+ * runs outermost so hits never reach request coalescing or batching. Size, TTL and statistics
+ * come from {@code spring.cache.caffeine.spec}; Caffeine evicts with W-TinyLFU admission.
+ */
+@EnableCaching(order = 0)
+@Configuration
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String VENDORS = "vendors";
+    public static final String VENDOR_PRODUCTS = "vendorProducts";
+}
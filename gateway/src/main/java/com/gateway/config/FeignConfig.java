@@ -0,0 +1,30 @@
+package com.gateway.config;
+
+import com.gateway.exception.NotModifiedException;
+import feign.codec.ErrorDecoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.util.Collection;
+
+@Configuration
+public class FeignConfig {
+
+    /**
+     * Feign hands every non-2xx response to the error decoder; a 304 from a conditional GET
+     * becomes a {@link NotModifiedException}, everything else keeps the default handling.
+     */
+    @Bean
+    public ErrorDecoder errorDecoder() {
+        ErrorDecoder defaultDecoder = new ErrorDecoder.Default();
+        return (methodKey, response) -> {
+            if (response.status() == HttpStatus.NOT_MODIFIED.value()) {
+                Collection<String> eTags = response.headers().get(HttpHeaders.ETAG);
+                return new NotModifiedException(eTags == null || eTags.isEmpty() ? null : eTags.iterator().next());
+            }
+            return defaultDecoder.decode(methodKey, response);
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.gateway.config;
+
+import com.gateway.metrics.RequestCostInterceptor;
+import com.gateway.metrics.RequestCostRecorder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the per-request allocation and CPU accounting. The recorder is optional so that
+ * MVC slice tests, which do not load it, still start.
+ */
+@Configuration
+public class RequestCostConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<RequestCostRecorder> recorder;
+
+    public RequestCostConfig(ObjectProvider<RequestCostRecorder> recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        recorder.ifAvailable(costs -> registry.addInterceptor(new RequestCostInterceptor(costs)));
+    }
+}
@@ -0,0 +1,25 @@
+package com.gateway.controller;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * ETags in the format product-service and vendor-service use, so a tag handed out by the
+ * gateway can be forwarded downstream in {@code If-None-Match}.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    static <T> ResponseEntity<T> ok(T body, String eTag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (eTag != null) {
+            response.eTag(eTag);
+        }
+        return response.body(body);
+    }
+}
@@ -1,5 +1,6 @@
 package com.gateway.controller;
 
+import com.gateway.exception.NotModifiedException;
 import feign.FeignException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -9,10 +10,31 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @ControllerAdvice
 public class FeignExceptionHandler extends ResponseEntityExceptionHandler {
+    @ExceptionHandler(NotModifiedException.class)
+    public ResponseEntity<Object> notModifiedHandler(NotModifiedException e, WebRequest request) {
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.status(HttpStatus.NOT_MODIFIED);
+        if (e.getETag() != null) {
+            response.eTag(e.getETag());
+        }
+        return response.build();
+    }
+
+    // a batch loader whose queue is full sheds the lookup; the caller may retry
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Object> rejectedExecutionHandler(RejectedExecutionException e, WebRequest request) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
     @ExceptionHandler(FeignException.class)
     public ResponseEntity<Object> fiegnExceptionHandler(FeignException fe, WebRequest request) {
+        // a rejected patch or a failed If-Match is the caller's to fix, not a missing resource
+        if (fe.status() == HttpStatus.BAD_REQUEST.value() || fe.status() == HttpStatus.PRECONDITION_FAILED.value()) {
+            return new ResponseEntity<>(fe.getMessage(), new HttpHeaders(), HttpStatus.valueOf(fe.status()));
+        }
         return new ResponseEntity<>(fe.getMessage(), new HttpHeaders(), HttpStatus.NOT_FOUND);
     }
 }
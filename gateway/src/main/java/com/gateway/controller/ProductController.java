@@ -1,16 +1,27 @@
 package com.gateway.controller;
 
 import com.gateway.assembler.ProductResourceAssembler;
+import com.gateway.batch.ProductBatchLoader;
 import com.gateway.client.ProductClient;
 import com.gateway.payload.Product;
+import com.gateway.payload.ProductSearch;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.Resource;
 import org.springframework.hateoas.Resources;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
@@ -23,31 +34,140 @@ public class ProductController {
 
     private final ProductClient client;
     private final ProductResourceAssembler assembler;
+    private final ProductBatchLoader loader;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 500;
 
-    public ProductController(ProductClient client, ProductResourceAssembler assembler) {
+    /**
+     * Gateway product fields that can be selected with {@code fields}, mapped to the
+     * product-service attribute they are read from.
+     */
+    private static final Map<String, String> SELECTABLE_FIELDS = new LinkedHashMap<>();
+
+    static {
+        SELECTABLE_FIELDS.put("id", "id");
+        SELECTABLE_FIELDS.put("name", "name");
+        SELECTABLE_FIELDS.put("price", "price");
+        SELECTABLE_FIELDS.put("imageUrl", "image");
+        SELECTABLE_FIELDS.put("vendorId", "vendorId");
+        SELECTABLE_FIELDS.put("version", "version");
+    }
+
+    public ProductController(ProductClient client, ProductResourceAssembler assembler, ProductBatchLoader loader) {
         this.client = client;
         this.assembler = assembler;
+        this.loader = loader;
     }
 
-    @ApiOperation(value = "Get all Products", notes = "Will return a list of products")
+    @ApiOperation(value = "Get all Products",
+            notes = "Will return a page of products with ids greater than 'after', follow the 'next' link for more. "
+                    + "'fields' selects a subset of product fields, 'compact' leaves out the per-product links")
     @GetMapping(produces = "application/json")
+    public ResponseEntity<Resources<?>> getAllProducts(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "compact", required = false) Boolean compact,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        long cursor = after == null ? 0L : after;
+        boolean withLinks = !Boolean.TRUE.equals(compact);
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // a 304 from product-service surfaces as NotModifiedException before anything is assembled
+        ResponseEntity<List<Product>> response =
+                client.getProductsPath(cursor, pageSize, downstreamFields(fields, withLinks), ifNoneMatch);
+        List<Product> page = response.getBody();
+
+        Resources<?> resources = withLinks
+                ? new Resources<>(page.stream().map(assembler::toResource).collect(Collectors.toList()))
+                : new Resources<>(page);
+
+        // built from the request URI: methodOn renders the unset optional parameters as a URI template
+        resources.add(new Link(ServletUriComponentsBuilder.fromCurrentRequestUri().toUriString()).withSelfRel());
+
+        if (page.size() == pageSize) {
+            UriComponentsBuilder next = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                    .queryParam("after", page.get(page.size() - 1).getId())
+                    .queryParam("limit", pageSize);
+            if (fields != null) {
+                next.queryParam("fields", fields);
+            }
+            if (compact != null) {
+                next.queryParam("compact", compact);
+            }
+            resources.add(new Link(next.toUriString(), "next"));
+        }
+
+        return ETags.ok(resources, response.getHeaders().getETag());
+    }
+
+    @ApiOperation(value = "Get Products by IDs", notes = "Will return the requested products in one call")
+    @GetMapping(params = "ids", produces = "application/json")
     @ResponseStatus(HttpStatus.OK)
-    public Resources<Resource<Product>> getAllProducts() {
+    public Resources<Resource<Product>> getProductsByIds(@RequestParam("ids") List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BATCH_SIZE + " ids can be requested at once");
+        }
+
         List<Resource<Product>> products = client
-                .getProductsPath()
+                .getProductsByIdsPath(ids)
                 .stream()
                 .map(assembler::toResource)
                 .collect(Collectors.toList());
 
         return new Resources<>(products,
-                linkTo(methodOn(ProductController.class).getAllProducts()).withSelfRel());
+                linkTo(methodOn(ProductController.class).getProductsByIds(ids)).withSelfRel());
+    }
+
+    @ApiOperation(value = "Search Products",
+            notes = "Will return a page of products filtered by 'vendorId', 'minPrice', 'maxPrice' and 'namePrefix', "
+                    + "sorted by 'sort' (id or price) in 'direction' (asc or desc); follow the 'next' link for more")
+    @GetMapping(value = "/search", produces = "application/json")
+    public ResponseEntity<Resources<Resource<Product>>> searchProducts(
+            ProductSearch search,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        ResponseEntity<List<Product>> response = client.getSearchProductsPath(search, pageSize, ifNoneMatch);
+        List<Product> page = response.getBody();
+
+        Resources<Resource<Product>> resources =
+                new Resources<>(page.stream().map(assembler::toResource).collect(Collectors.toList()));
+
+        UriComponentsBuilder self = ServletUriComponentsBuilder.fromCurrentRequest();
+        resources.add(new Link(self.toUriString()).withSelfRel());
+
+        // the cursor is the last product's position in the search order: its price, then its id
+        if (page.size() == pageSize) {
+            Product last = page.get(page.size() - 1);
+            UriComponentsBuilder next = self.cloneBuilder()
+                    .replaceQueryParam("limit", pageSize)
+                    .replaceQueryParam("after", last.getId());
+            if ("price".equals(search.getSort())) {
+                next.replaceQueryParam("afterPrice", last.getPrice());
+            }
+            resources.add(new Link(next.toUriString(), "next"));
+        }
+
+        return ETags.ok(resources, response.getHeaders().getETag());
     }
 
     @ApiOperation(value = "Get Product by ID", notes = "Will return a specific product")
     @GetMapping(value = "/{id}", produces = "application/json")
-    @ResponseStatus(HttpStatus.OK)
-    public Resource<Product> getProductById(@PathVariable("id") Long id) {
-        return assembler.toResource(client.getProductByIdPath(id));
+    public ResponseEntity<Resource<Product>> getProductById(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            Product product = loader.get(id);
+            return ETags.ok(assembler.toResource(product), ETags.of(product.getVersion()));
+        }
+
+        // conditional requests go to product-service, a 304 surfaces as NotModifiedException
+        ResponseEntity<Product> response = client.getProductByIdPath(id, ifNoneMatch);
+        return ETags.ok(assembler.toResource(response.getBody()), response.getHeaders().getETag());
     }
 
     @ApiOperation(value = "Create a Product", notes = "Will create a product")
@@ -64,10 +184,56 @@ public class ProductController {
         return assembler.toResource(client.getPutUpdateProductByIdPath(id, product));
     }
 
+    @ApiOperation(value = "Patch a Product",
+            notes = "Will change only the supplied fields; send the product's ETag in If-Match to guard against lost updates")
+    @PatchMapping(value = "/{id}", consumes = {"application/json", "application/merge-patch+json"})
+    public ResponseEntity<Resource<Product>> patchProduct(
+            @PathVariable("id") Long id, @RequestBody Map<String, Object> changes,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ResponseEntity<Product> response = client.getPatchProductByIdPath(id, downstreamChanges(changes), ifMatch);
+        return ETags.ok(assembler.toResource(response.getBody()), response.getHeaders().getETag());
+    }
+
     @ApiOperation(value = "Delete a Product", notes = "Will delete a product")
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public void deleteVendor(@PathVariable("id") Long id) {
         client.getDeleteProductByIdPath(id);
     }
+
+    // gateway field names translated to product-service's; which fields may change is decided there
+    private static Map<String, Object> downstreamChanges(Map<String, Object> changes) {
+        Map<String, Object> translated = new LinkedHashMap<>();
+        changes.forEach((field, value) -> {
+            String attribute = SELECTABLE_FIELDS.get(field);
+            if (attribute == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown field '" + field + "', expected any of " + SELECTABLE_FIELDS.keySet());
+            }
+            translated.put(attribute, value);
+        });
+        return translated;
+    }
+
+    // translated so product-service selects only these columns; id is always included there,
+    // and vendorId is added whenever per-product links are built, as the vendor links need it
+    private static String downstreamFields(String fields, boolean withLinks) {
+        if (fields == null || fields.trim().isEmpty()) {
+            return null;
+        }
+
+        List<String> selected = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String attribute = SELECTABLE_FIELDS.get(field.trim());
+            if (attribute == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown field '" + field.trim() + "', expected any of " + SELECTABLE_FIELDS.keySet());
+            }
+            selected.add(attribute);
+        }
+        if (withLinks && !selected.contains("vendorId")) {
+            selected.add("vendorId");
+        }
+        return String.join(",", selected);
+    }
 }
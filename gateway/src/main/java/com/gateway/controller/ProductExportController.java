@@ -0,0 +1,58 @@
+package com.gateway.controller;
+
+import com.gateway.client.ProductClient;
+import feign.Response;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+@Api(description = "Product Export")
+@RestController
+@RequestMapping("/products")
+public class ProductExportController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final ProductClient client;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductExportController.class);
+
+    public ProductExportController(ProductClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Copies product-service's export to the client byte for byte. Nothing is decoded or
+     * buffered beyond the copy buffer, so memory use is independent of catalog size.
+     */
+    @ApiOperation(value = "Export all Products", notes = "Will stream every product as newline-delimited JSON")
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        LOGGER.info("Streaming product export from product-service");
+
+        Response response = client.getProductsExportPath();
+        if (response.status() != HttpStatus.OK.value() || response.body() == null) {
+            response.close();
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+                    "product-service export failed with status " + response.status());
+        }
+
+        StreamingResponseBody body = out -> {
+            try (Response upstream = response; InputStream in = upstream.body().asInputStream()) {
+                StreamUtils.copy(in, out);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+}
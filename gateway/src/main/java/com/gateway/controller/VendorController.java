@@ -1,7 +1,10 @@
 package com.gateway.controller;
 
+import com.gateway.aggregation.AsyncAggregator;
 import com.gateway.assembler.ProductResourceAssembler;
 import com.gateway.assembler.VendorResourceAssembler;
+import com.gateway.batch.ProductBatchLoader;
+import com.gateway.batch.VendorBatchLoader;
 import com.gateway.client.ProductClient;
 import com.gateway.client.VendorClient;
 import com.gateway.exception.CustomFeignException;
@@ -11,12 +14,18 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.Resource;
 import org.springframework.hateoas.Resources;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
@@ -31,43 +40,78 @@ public class VendorController {
     private final ProductClient productClient;
     private final VendorResourceAssembler vendorResourceAssembler;
     private final ProductResourceAssembler productResourceAssembler;
+    private final AsyncAggregator aggregator;
+    private final VendorBatchLoader vendorLoader;
+    private final ProductBatchLoader productLoader;
     private static final Logger LOGGER = LoggerFactory.getLogger(VendorController.class);
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
     public VendorController(VendorClient vendorClient, ProductClient productClient,
                             VendorResourceAssembler vendorResourceAssembler,
-                            ProductResourceAssembler productResourceAssembler) {
+                            ProductResourceAssembler productResourceAssembler,
+                            AsyncAggregator aggregator,
+                            VendorBatchLoader vendorLoader,
+                            ProductBatchLoader productLoader) {
         this.vendorClient = vendorClient;
         this.productClient = productClient;
         this.vendorResourceAssembler = vendorResourceAssembler;
         this.productResourceAssembler = productResourceAssembler;
+        this.aggregator = aggregator;
+        this.vendorLoader = vendorLoader;
+        this.productLoader = productLoader;
     }
 
-    @ApiOperation(value = "Get all Vendors", notes = "Will return a list of vendors")
+    @ApiOperation(value = "Get all Vendors",
+            notes = "Will return a page of vendors with ids greater than 'after', follow the 'next' link for more")
     @GetMapping(produces = "application/json")
     @ResponseStatus(HttpStatus.OK)
-    public Resources<Resource<Vendor>> getAllVendors() {
+    public Resources<Resource<Vendor>> getAllVendors(@RequestParam(value = "after", required = false) Long after,
+                                                     @RequestParam(value = "limit", required = false) Integer limit) {
+        long cursor = after == null ? 0L : after;
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
 
-        LOGGER.info("Getting vendors from vendors-service");
+        LOGGER.info("Getting vendors from vendors-service after: " + cursor);
 
-        List<Resource<Vendor>> vendors = vendorClient
-                .getVendorsPath()
+        List<Vendor> page = vendorClient.getVendorsPath(cursor, pageSize);
+
+        List<Resource<Vendor>> vendors = page
                 .stream()
                 .map(vendorResourceAssembler::toResource)
                 .collect(Collectors.toList());
 
         LOGGER.info("Mapping vendors to VendorResource and adding to List");
 
-        return new Resources<>(vendors,
-                linkTo(methodOn(VendorController.class).getAllVendors()).withSelfRel());
+        // built from the request URI: methodOn renders the unset optional parameters as a URI template
+        Resources<Resource<Vendor>> resources = new Resources<>(vendors,
+                new Link(ServletUriComponentsBuilder.fromCurrentRequestUri().toUriString()).withSelfRel());
+
+        if (page.size() == pageSize) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                    .queryParam("after", page.get(page.size() - 1).getId())
+                    .queryParam("limit", pageSize)
+                    .toUriString();
+            resources.add(new Link(next, "next"));
+        }
+
+        return resources;
     }
 
     @ApiOperation(value = "Get Vendor by ID", notes = "Will return a specific vendor")
     @GetMapping(value = "/{id}", produces = "application/json")
-    @ResponseStatus(HttpStatus.OK)
-    public Resource<Vendor> getVendorById(@PathVariable("id") Long id) {
+    public ResponseEntity<Resource<Vendor>> getVendorById(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         LOGGER.info("Getting vendor by id: " + id);
 
-        return vendorResourceAssembler.toResource(vendorClient.getVendorByIdPath(id));
+        if (ifNoneMatch == null) {
+            Vendor vendor = vendorLoader.get(id);
+            return ETags.ok(vendorResourceAssembler.toResource(vendor), ETags.of(vendor.getVersion()));
+        }
+
+        // conditional requests go to vendor-service, a 304 surfaces as NotModifiedException
+        ResponseEntity<Vendor> response = vendorClient.getVendorByIdPath(id, ifNoneMatch);
+        return ETags.ok(vendorResourceAssembler.toResource(response.getBody()), response.getHeaders().getETag());
     }
 
     @ApiOperation(value = "Create a Vendor", notes = "Will create a vendor")
@@ -80,6 +124,23 @@ public class VendorController {
         return vendorResourceAssembler.toResource(vendorClient.getCreateVendorPath(vendor));
     }
 
+    @ApiOperation(value = "Create or find Vendors by name",
+            notes = "Will create the vendors whose names do not exist yet and return every vendor in request order")
+    @PostMapping(value = "/bulk", consumes = "application/json", produces = "application/json")
+    @ResponseStatus(HttpStatus.OK)
+    public Resources<Resource<Vendor>> upsertVendors(@RequestBody List<Vendor> vendors) {
+
+        LOGGER.info("Upserting " + vendors.size() + " vendors");
+
+        List<Resource<Vendor>> resources = vendorClient.getUpsertVendorsPath(vendors)
+                .stream()
+                .map(vendorResourceAssembler::toResource)
+                .collect(Collectors.toList());
+
+        return new Resources<>(resources,
+                linkTo(VendorController.class).withRel("vendors"));
+    }
+
     @ApiOperation(value = "Update a Vendor", notes = "Will update a vendor")
     @PutMapping(value = "/{id}", consumes = "application/json", produces = "application/json")
     @ResponseStatus(HttpStatus.OK)
@@ -90,10 +151,32 @@ public class VendorController {
         return vendorResourceAssembler.toResource(vendorClient.getUpdateVendorByIdPath(id, vendor));
     }
 
-    @ApiOperation(value = "Delete a Vendor", notes = "Will delete a vendor")
+    @ApiOperation(value = "Patch a Vendor",
+            notes = "Will change only the supplied fields; send the vendor's ETag in If-Match to guard against lost updates")
+    @PatchMapping(value = "/{id}", consumes = {"application/json", "application/merge-patch+json"})
+    public ResponseEntity<Resource<Vendor>> patchVendor(
+            @PathVariable("id") Long id, @RequestBody Map<String, Object> changes,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        LOGGER.info("Patching vendor by id: " + id);
+
+        ResponseEntity<Vendor> response = vendorClient.getPatchVendorByIdPath(id, changes, ifMatch);
+        return ETags.ok(vendorResourceAssembler.toResource(response.getBody()), response.getHeaders().getETag());
+    }
+
+    @ApiOperation(value = "Delete a Vendor",
+            notes = "Will delete a vendor, and with cascade=true all of its products first")
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
-    public void deleteVendor(@PathVariable("id") Long id) {
+    public void deleteVendor(@PathVariable("id") Long id,
+                             @RequestParam(value = "cascade", defaultValue = "false") boolean cascade) {
+
+        // products go first, so a failed cascade never leaves products without a vendor
+        if (cascade) {
+            LOGGER.info("Deleting products of vendor: " + id);
+            Map<String, Long> result = productClient.getDeleteProductsByVendorIdPath(id);
+            LOGGER.info("Deleted " + result.get("deleted") + " products of vendor: " + id);
+        }
 
         LOGGER.info("Deleting vendor by id: " + id);
 
@@ -104,16 +187,34 @@ public class VendorController {
     @GetMapping("/{id}/products")
     @ResponseStatus(HttpStatus.OK)
     public Resources<Resource<Product>> getProductsByVendorId(@PathVariable("id") Long id) {
-        Vendor vendor = vendorClient.getVendorWithProductsById(id);
 
-        LOGGER.info("Searching for vendors products");
-        vendor.getProducts().addAll(getProductResourceList(id));
+        LOGGER.info("Searching for vendor and vendors products");
+        List<Resource<Product>> products = aggregator.join(
+                () -> vendorClient.getVendorWithProductsById(id),
+                () -> productClient.getProductsByVendorIdPath(id),
+                (vendor, vendorProducts) -> {
+                    List<Resource<Product>> resources = new ArrayList<>(vendor.getProducts());
+                    resources.addAll(toProductResources(vendorProducts));
+                    return resources;
+                });
 
         LOGGER.info("Listing products");
-        List<Resource<Product>> products = vendor.getProducts();
 
         return new Resources<>(products,
-                linkTo(methodOn(ProductController.class).getAllProducts()).withSelfRel());
+                linkTo(methodOn(VendorController.class).getProductsByVendorId(id)).withSelfRel());
+    }
+
+    @ApiOperation(value = "Adjust a Vendor's product prices",
+            notes = "Will change the prices of the vendor's products by 'percent' or 'amount', optionally only "
+                    + "those between 'minPrice' and 'maxPrice', and return the number changed")
+    @PostMapping(value = "/{id}/products/prices", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<Map<String, Object>> adjustPrices(@PathVariable("id") Long id,
+                                                            @RequestBody Map<String, Object> adjustment) {
+
+        LOGGER.info("Adjusting product prices of vendor: " + id);
+
+        ResponseEntity<Map<String, Object>> response = productClient.getAdjustPricesPath(id, adjustment);
+        return ETags.ok(response.getBody(), response.getHeaders().getETag());
     }
 
     @ApiOperation(value = "Get Product by Id and Vendor Id", notes = "Will return a specific product by Id and VendorId")
@@ -122,32 +223,20 @@ public class VendorController {
     public Resource<Product> getProductByVendorIdAndProductId(@PathVariable("vendor_id") Long vendor_id,
                                                   @PathVariable("product_id") Long product_id) {
 
-        LOGGER.info("List vendor's products");
+        LOGGER.info("Getting product " + product_id + " for vendor: " + vendor_id);
 
-        return  getProductList(vendor_id)
-                .stream()
-                .filter(product -> product.getId().equals(product_id))
-                .map(productResourceAssembler::toResource)
-                .findFirst()
-                .orElseThrow(() -> new CustomFeignException("Product not found with id: " + product_id));
-    }
+        Product product = productLoader.get(product_id);
 
-    private List<Product> getProductList(Long id) {
-        return productClient.getProductsPath()
-                .stream()
-                .filter(product -> {
-                    if(product.getVendorId().equals(id)) {
-                        return true;
-                    }
-                    throw new CustomFeignException("Product doesn't belong to vendor id:" + id);
-                })
-                .collect(Collectors.toList());
+        if (!vendor_id.equals(product.getVendorId())) {
+            throw new CustomFeignException("Product not found with id: " + product_id + " for vendor id: " + vendor_id);
+        }
+
+        return productResourceAssembler.toResource(product);
     }
 
-    private List<Resource<Product>> getProductResourceList(Long id) {
-        return productClient.getProductsPath()
+    private List<Resource<Product>> toProductResources(List<Product> products) {
+        return products
                 .stream()
-                .filter(product -> product.getVendorId().equals(id))
                 .map(productResourceAssembler::toResource)
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,21 @@
+package com.gateway.exception;
+
+import feign.FeignException;
+
+/**
+ * A downstream service answered a conditional GET with 304. Carries the service's ETag so the
+ * gateway can answer its own client with 304 without assembling resources.
+ */
+public class NotModifiedException extends FeignException {
+
+    private final String eTag;
+
+    public NotModifiedException(String eTag) {
+        super(304, "Not modified", null);
+        this.eTag = eTag;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+}
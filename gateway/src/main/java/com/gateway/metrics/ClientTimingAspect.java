@@ -0,0 +1,90 @@
+package com.gateway.metrics;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every {@code VendorClient} and {@code ProductClient} call as {@code gateway.client.requests},
+ * tagged with the downstream service, HTTP method, route template and outcome. It runs inside
+ * caching and coalescing, so it measures only calls that actually reach the downstream service;
+ * comparing it with {@code http.server.requests} separates gateway overhead from downstream latency.
+ */
+@Aspect
+@Component
+@Order(2)
+public class ClientTimingAspect {
+
+    public static final String METRIC_NAME = "gateway.client.requests";
+
+    private final MeterRegistry registry;
+    private final Map<Method, Tags> routes = new ConcurrentHashMap<>();
+
+    public ClientTimingAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(* com.gateway.client.VendorClient.*(..))")
+    public Object timeVendorCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("vendor-service", joinPoint);
+    }
+
+    @Around("execution(* com.gateway.client.ProductClient.*(..))")
+    public Object timeProductCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("product-service", joinPoint);
+    }
+
+    private Object time(String client, ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "SUCCESS";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .tags(routes.computeIfAbsent(method, ClientTimingAspect::route))
+                    .tags("client", client, "outcome", outcome)
+                    .register(registry));
+        }
+    }
+
+    private static Tags route(Method method) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        if (mapping == null) {
+            return Tags.of("method", "UNKNOWN", "uri", "UNKNOWN");
+        }
+        String httpMethod = mapping.method().length > 0 ? mapping.method()[0].name() : "GET";
+        String uri = mapping.path().length > 0 ? mapping.path()[0] : "/";
+        return Tags.of("method", httpMethod, "uri", uri);
+    }
+
+    private static String outcome(Throwable e) {
+        int status = e instanceof FeignException ? ((FeignException) e).status() : -1;
+        if (status >= 300 && status < 400) {
+            return "REDIRECTION";
+        }
+        if (status >= 400 && status < 500) {
+            return "CLIENT_ERROR";
+        }
+        if (status >= 500) {
+            return "SERVER_ERROR";
+        }
+        return "UNKNOWN";
+    }
+}
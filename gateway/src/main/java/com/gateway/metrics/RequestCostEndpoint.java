@@ -0,0 +1,32 @@
+package com.gateway.metrics;
+
+import com.gateway.metrics.RequestCostRecorder.HandlerCost;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/requestcost}: handler methods ranked by total bytes allocated, or by CPU time
+ * with {@code ?sort=cpu}. {@code ?limit=} caps the number of entries, 10 by default.
+ */
+@Component
+@Endpoint(id = "requestcost")
+public class RequestCostEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final RequestCostRecorder recorder;
+
+    public RequestCostEndpoint(RequestCostRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public List<HandlerCost> top(@Nullable Integer limit, @Nullable String sort) {
+        return recorder.top(limit == null ? DEFAULT_LIMIT : Math.max(1, limit),
+                "cpu".equalsIgnoreCase(sort) ? HandlerCost.BY_CPU : HandlerCost.BY_ALLOCATION);
+    }
+}
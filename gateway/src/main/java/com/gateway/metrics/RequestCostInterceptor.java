@@ -0,0 +1,79 @@
+package com.gateway.metrics;
+
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Samples the request thread's allocated bytes and CPU time around each REST handler method.
+ * Work the handler hands to other threads, such as the aggregation pool or batch dispatch,
+ * is not attributed to the request. Measurements the JVM does not support are recorded as -1
+ * and skipped by the recorder.
+ */
+public class RequestCostInterceptor implements HandlerInterceptor {
+
+    private static final String START = RequestCostInterceptor.class.getName() + ".start";
+
+    private final RequestCostRecorder recorder;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final com.sun.management.ThreadMXBean allocations;
+
+    public RequestCostInterceptor(RequestCostRecorder recorder) {
+        this.recorder = recorder;
+        this.allocations = threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()
+                ? (com.sun.management.ThreadMXBean) threads : null;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isRestHandler(handler)) {
+            request.setAttribute(START, new long[]{allocatedBytes(), cpuNanos()});
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        long[] start = (long[]) request.getAttribute(START);
+        if (start == null) {
+            return;
+        }
+        request.removeAttribute(START);
+
+        long bytes = allocatedBytes();
+        long cpu = cpuNanos();
+        recorder.record(name((HandlerMethod) handler),
+                bytes < 0 || start[0] < 0 ? -1 : bytes - start[0],
+                cpu < 0 || start[1] < 0 ? -1 : cpu - start[1]);
+    }
+
+    private static boolean isRestHandler(Object handler) {
+        return handler instanceof HandlerMethod
+                && ((HandlerMethod) handler).getBeanType().isAnnotationPresent(RestController.class);
+    }
+
+    private static String name(HandlerMethod handler) {
+        return handler.getBeanType().getSimpleName() + "#" + handler.getMethod().getName();
+    }
+
+    private long allocatedBytes() {
+        if (allocations == null || !allocations.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private long cpuNanos() {
+        if (!threads.isCurrentThreadCpuTimeSupported() || !threads.isThreadCpuTimeEnabled()) {
+            return -1;
+        }
+        return threads.getCurrentThreadCpuTime();
+    }
+}
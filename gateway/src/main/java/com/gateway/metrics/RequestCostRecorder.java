@@ -0,0 +1,137 @@
+package com.gateway.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregates bytes allocated and CPU time spent per handler method. Each request is published as
+ * {@code gateway.request.allocation} and {@code gateway.request.cpu}, tagged with the handler,
+ * and running totals are kept for the {@code requestcost} actuator endpoint.
+ */
+@Component
+public class RequestCostRecorder {
+
+    private final MeterRegistry registry;
+    private final Map<String, HandlerTotals> totals = new ConcurrentHashMap<>();
+
+    public RequestCostRecorder(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void record(String handler, long allocatedBytes, long cpuNanos) {
+        totals.computeIfAbsent(handler, this::register).record(allocatedBytes, cpuNanos);
+    }
+
+    public List<HandlerCost> top(int limit, Comparator<HandlerCost> order) {
+        return totals.entrySet()
+                .stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(order.reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private HandlerTotals register(String handler) {
+        return new HandlerTotals(
+                DistributionSummary.builder("gateway.request.allocation")
+                        .description("Bytes allocated on the request thread")
+                        .baseUnit("bytes")
+                        .tag("handler", handler)
+                        .register(registry),
+                Timer.builder("gateway.request.cpu")
+                        .description("CPU time used on the request thread")
+                        .tag("handler", handler)
+                        .register(registry));
+    }
+
+    private static final class HandlerTotals {
+
+        private final DistributionSummary allocation;
+        private final Timer cpu;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAccumulator maxAllocatedBytes = new LongAccumulator(Math::max, 0);
+        private final LongAdder cpuNanos = new LongAdder();
+
+        private HandlerTotals(DistributionSummary allocation, Timer cpu) {
+            this.allocation = allocation;
+            this.cpu = cpu;
+        }
+
+        private void record(long bytes, long nanos) {
+            requests.increment();
+            if (bytes >= 0) {
+                allocation.record(bytes);
+                allocatedBytes.add(bytes);
+                maxAllocatedBytes.accumulate(bytes);
+            }
+            if (nanos >= 0) {
+                cpu.record(nanos, TimeUnit.NANOSECONDS);
+                cpuNanos.add(nanos);
+            }
+        }
+
+        private HandlerCost snapshot(String handler) {
+            return new HandlerCost(handler, requests.sum(), allocatedBytes.sum(), maxAllocatedBytes.get(), cpuNanos.sum());
+        }
+    }
+
+    public static final class HandlerCost {
+
+        public static final Comparator<HandlerCost> BY_ALLOCATION = Comparator.comparingLong(HandlerCost::getAllocatedBytes);
+        public static final Comparator<HandlerCost> BY_CPU = Comparator.comparingLong(HandlerCost::getCpuNanos);
+
+        private final String handler;
+        private final long requests;
+        private final long allocatedBytes;
+        private final long maxAllocatedBytes;
+        private final long cpuNanos;
+
+        HandlerCost(String handler, long requests, long allocatedBytes, long maxAllocatedBytes, long cpuNanos) {
+            this.handler = handler;
+            this.requests = requests;
+            this.allocatedBytes = allocatedBytes;
+            this.maxAllocatedBytes = maxAllocatedBytes;
+            this.cpuNanos = cpuNanos;
+        }
+
+        public String getHandler() {
+            return handler;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public long getMeanAllocatedBytes() {
+            return requests == 0 ? 0 : allocatedBytes / requests;
+        }
+
+        public long getMaxAllocatedBytes() {
+            return maxAllocatedBytes;
+        }
+
+        public long getCpuNanos() {
+            return cpuNanos;
+        }
+
+        public long getMeanCpuNanos() {
+            return requests == 0 ? 0 : cpuNanos / requests;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.gateway.payload;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
@@ -12,8 +13,11 @@ public class Product {
     private Long id;
     private String name;
     private BigDecimal price;
+    // product-service calls it image
+    @JsonAlias("image")
     private String imageUrl;
     private Long vendorId;
+    private Long version;
 
     public Product() {
     }
@@ -65,4 +69,12 @@ public class Product {
     public void setVendorId(Long vendorId) {
         this.vendorId = vendorId;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
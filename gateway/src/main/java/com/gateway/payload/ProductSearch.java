@@ -0,0 +1,108 @@
+package com.gateway.payload;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Query parameters of a product search, passed through to product-service unchanged. Equal
+ * searches are equal so concurrent identical requests can share one downstream call.
+ */
+public class ProductSearch {
+
+    private Long vendorId;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private String namePrefix;
+    private String sort = "id";
+    private String direction = "asc";
+    private Long after;
+    private BigDecimal afterPrice;
+
+    public Long getVendorId() {
+        return vendorId;
+    }
+
+    public void setVendorId(Long vendorId) {
+        this.vendorId = vendorId;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public void setDirection(String direction) {
+        this.direction = direction;
+    }
+
+    public Long getAfter() {
+        return after;
+    }
+
+    public void setAfter(Long after) {
+        this.after = after;
+    }
+
+    public BigDecimal getAfterPrice() {
+        return afterPrice;
+    }
+
+    public void setAfterPrice(BigDecimal afterPrice) {
+        this.afterPrice = afterPrice;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ProductSearch that = (ProductSearch) o;
+        return Objects.equals(vendorId, that.vendorId)
+                && Objects.equals(minPrice, that.minPrice)
+                && Objects.equals(maxPrice, that.maxPrice)
+                && Objects.equals(namePrefix, that.namePrefix)
+                && Objects.equals(sort, that.sort)
+                && Objects.equals(direction, that.direction)
+                && Objects.equals(after, that.after)
+                && Objects.equals(afterPrice, that.afterPrice);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(vendorId, minPrice, maxPrice, namePrefix, sort, direction, after, afterPrice);
+    }
+}
@@ -13,6 +13,7 @@ public class Vendor {
 
     private Long id;
     private String name;
+    private Long version;
     private List<Resource<Product>> products = new ArrayList<>();
 
     public Vendor() {
@@ -46,4 +47,12 @@ public class Vendor {
     public void setProducts(List<Resource<Product>> products) {
         this.products = products;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,58 @@
+package com.gateway.aggregation;
+
+import com.gateway.exception.CustomFeignException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncAggregatorTest {
+
+    private AsyncAggregator aggregator = new AsyncAggregator(4, 16);
+
+    @AfterEach
+    void tearDown() {
+        aggregator.shutdown();
+    }
+
+    @Test
+    @DisplayName("join should run both calls concurrently and combine their results")
+    void join_shouldRunCallsConcurrentlyTest() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        String result = aggregator.join(
+                () -> awaitOther(bothStarted, "vendor"),
+                () -> awaitOther(bothStarted, "products"),
+                (vendor, products) -> vendor + ":" + products);
+
+        assertEquals("vendor:products", result);
+    }
+
+    @Test
+    @DisplayName("join should rethrow the downstream exception unwrapped")
+    void join_shouldRethrowDownstreamExceptionTest() {
+        Throwable e = assertThrows(CustomFeignException.class, () -> aggregator.join(
+                () -> {
+                    throw new CustomFeignException("Vendor not found");
+                },
+                () -> "products",
+                (vendor, products) -> products));
+
+        assertEquals("Vendor not found", e.getMessage());
+    }
+
+    private static String awaitOther(CountDownLatch latch, String value) {
+        latch.countDown();
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "calls were not issued concurrently");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        }
+        return value;
+    }
+}
@@ -4,6 +4,9 @@ import com.gateway.payload.Product;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.hateoas.Resource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.math.BigDecimal;
 
@@ -69,4 +72,26 @@ class ProductResourceAssemblerTest {
                 () -> assertEquals("products", productResource.getLinks().get(1).getRel())
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Product links within a request should use the request's base URI")
+    void toResource_withinRequest_shouldBuildAbsoluteLinksTest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            product = new Product(ID, NAME, PRICE, IMAGEURL, VENDORID);
+
+            Resource<Product> first = assembler.toResource(product);
+            Resource<Product> second = assembler.toResource(new Product(2L, NAME, PRICE, IMAGEURL, VENDORID));
+
+            assertAll(
+                    () -> assertEquals("http://localhost/products/1", first.getLinks().get(0).getHref()),
+                    () -> assertEquals("http://localhost/vendors/1/products", first.getLinks().get(1).getHref()),
+                    () -> assertEquals("http://localhost/vendors/1/products/1", first.getLinks().get(2).getHref()),
+                    () -> assertEquals("http://localhost/products/2", second.getLinks().get(0).getHref()),
+                    () -> assertEquals("http://localhost/vendors/1/products/2", second.getLinks().get(2).getHref())
+            );
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
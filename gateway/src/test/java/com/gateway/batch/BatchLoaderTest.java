@@ -0,0 +1,141 @@
+package com.gateway.batch;
+
+import com.gateway.exception.CustomFeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchLoaderTest {
+
+    private MeterRegistry registry = new SimpleMeterRegistry();
+    private TestLoader loader;
+
+    @AfterEach
+    void tearDown() {
+        loader.shutdown();
+    }
+
+    @Test
+    @DisplayName("Lookups should be de-duplicated and dispatched as one batch once the batch is full")
+    void load_shouldDispatchFullBatchOnceTest() throws Exception {
+        loader = new TestLoader(2, TimeUnit.MINUTES.toMillis(1));
+
+        CompletableFuture<String> first = loader.load(1L);
+        CompletableFuture<String> duplicate = loader.load(1L);
+        CompletableFuture<String> second = loader.load(2L);
+
+        assertEquals("value-1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("value-1", duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals("value-2", second.get(5, TimeUnit.SECONDS));
+        assertSame(first, duplicate);
+        assertEquals(Collections.singletonList(new HashSet<>(asList(1L, 2L))), loader.batches);
+        assertEquals(1, registry.get("gateway.batch.size").summary().count());
+        assertEquals(2.0, registry.get("gateway.batch.size").summary().totalAmount());
+        assertEquals(2, registry.get("gateway.batch.queue.delay").timer().count());
+    }
+
+    @Test
+    @DisplayName("A partial batch should be dispatched once the window elapses")
+    void load_shouldDispatchPartialBatchAfterDelayTest() throws Exception {
+        loader = new TestLoader(64, 10);
+
+        assertEquals("value-7", loader.load(7L).get(5, TimeUnit.SECONDS));
+        assertEquals("value-8", loader.get(8L));
+
+        assertEquals(asList(Collections.singleton(7L), Collections.singleton(8L)), loader.batches);
+    }
+
+    @Test
+    @DisplayName("A timed flush should load its batch off the scheduler thread")
+    void load_shouldNotLoadOnSchedulerThreadTest() throws Exception {
+        loader = new TestLoader(64, 10);
+
+        assertEquals("value-7", loader.load(7L).get(5, TimeUnit.SECONDS));
+
+        assertEquals(1, loader.threads.size());
+        assertTrue(loader.threads.get(0).startsWith("Test-batch-load-"), loader.threads.get(0));
+    }
+
+    @Test
+    @DisplayName("Keys missing from the batch result should fail with CustomFeignException")
+    void get_withUnknownKey_shouldThrowCustomFeignExceptionTest() {
+        loader = new TestLoader(1, 10);
+
+        Throwable e = assertThrows(CustomFeignException.class, () -> loader.get(TestLoader.MISSING));
+
+        assertEquals("Test not found with id: " + TestLoader.MISSING, e.getMessage());
+    }
+
+    @Test
+    @DisplayName("A batch should fail its lookups rather than queue past the capacity")
+    void load_shouldRejectBatchWhenQueueIsFullTest() throws Exception {
+        loader = new TestLoader(1, 10, 1, 1);
+        loader.release = new CountDownLatch(1);
+
+        CompletableFuture<String> running = loader.load(1L);
+        CompletableFuture<String> queued = loader.load(2L);
+        CompletableFuture<String> rejected = loader.load(3L);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+        assertEquals(1.0, registry.get("gateway.batch.queue.depth").gauge().value());
+        assertEquals(1.0, registry.get("gateway.batch.rejected").counter().count());
+
+        loader.release.countDown();
+        assertEquals("value-1", running.get(5, TimeUnit.SECONDS));
+        assertEquals("value-2", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private class TestLoader extends BatchLoader<Long, String> {
+
+        private static final long MISSING = 404L;
+        private final List<Set<Long>> batches = new CopyOnWriteArrayList<>();
+        private final List<String> threads = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch release;
+
+        private TestLoader(int maxBatchSize, long maxDelayMillis) {
+            this(maxBatchSize, maxDelayMillis, 2, 16);
+        }
+
+        private TestLoader(int maxBatchSize, long maxDelayMillis, int maxConcurrentBatches, int queueCapacity) {
+            super("Test", maxBatchSize, maxDelayMillis, maxConcurrentBatches, queueCapacity, registry);
+        }
+
+        @Override
+        protected Map<Long, String> loadBatch(Set<Long> keys) {
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            batches.add(new HashSet<>(keys));
+            threads.add(Thread.currentThread().getName());
+            return new ArrayList<>(keys)
+                    .stream()
+                    .filter(key -> key != MISSING)
+                    .collect(Collectors.toMap(Function.identity(), key -> "value-" + key));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.gateway.coalescing;
+
+import com.gateway.exception.CustomFeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 4;
+
+    private MeterRegistry registry = new SimpleMeterRegistry();
+    private SingleFlight<Long> singleFlight = new SingleFlight<>("vendor-service", registry);
+    private ExecutorService callers = Executors.newFixedThreadPool(FOLLOWERS + 1);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Concurrent calls for the same key should share one downstream call")
+    void execute_shouldCoalesceConcurrentCallsTest() throws Exception {
+        AtomicInteger downstreamCalls = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        results.add(callers.submit(() -> singleFlight.execute(1L, () -> {
+            downstreamCalls.incrementAndGet();
+            entered.countDown();
+            awaitLatch(release);
+            return "vendor";
+        })));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < FOLLOWERS; i++) {
+            results.add(callers.submit(() -> singleFlight.execute(1L, () -> {
+                downstreamCalls.incrementAndGet();
+                return "duplicate";
+            })));
+        }
+        awaitCoalesced(FOLLOWERS);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("vendor", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, downstreamCalls.get());
+        assertEquals(1.0, count("executed"));
+        assertEquals(FOLLOWERS, count("coalesced"));
+    }
+
+    @Test
+    @DisplayName("Completed calls should not be shared and failures should reach the caller")
+    void execute_shouldReleaseKeyAfterCompletionTest() {
+        assertThrows(CustomFeignException.class, () -> singleFlight.execute(1L, () -> {
+            throw new CustomFeignException("Vendor not found");
+        }));
+
+        assertEquals("vendor", singleFlight.execute(1L, () -> "vendor"));
+        assertEquals(2.0, count("executed"));
+        assertEquals(0.0, count("coalesced"));
+    }
+
+    private double count(String result) {
+        return registry.get("gateway.coalescing.calls").tag("result", result).counter().count();
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("coalesced") < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.gateway.config;
+
+import com.gateway.client.ProductClient;
+import com.gateway.client.VendorClient;
+import com.gateway.payload.Product;
+import com.gateway.payload.Vendor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.AopTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringJUnitConfig(CacheConfigTest.Config.class)
+class CacheConfigTest {
+
+    @Autowired
+    private ProductClient productClient;
+
+    @Autowired
+    private VendorClient vendorClient;
+
+    @Test
+    @DisplayName("Vendor product lists should be cached and evicted when the gateway updates a product")
+    void vendorProducts_shouldBeCachedAndEvictedOnProductUpdateTest() {
+        ProductClient target = AopTestUtils.getTargetObject(productClient);
+        Product product = new Product(1L, "product1", new BigDecimal(10.5), "image", 1L);
+        given(target.getProductsByVendorIdPath(1L)).willReturn(Collections.singletonList(product));
+
+        productClient.getProductsByVendorIdPath(1L);
+        productClient.getProductsByVendorIdPath(1L);
+        verify(target, times(1)).getProductsByVendorIdPath(1L);
+
+        productClient.getPutUpdateProductByIdPath(1L, product);
+        productClient.getProductsByVendorIdPath(1L);
+        verify(target, times(2)).getProductsByVendorIdPath(1L);
+    }
+
+    @Test
+    @DisplayName("Vendor product lists should be evicted when the gateway adjusts the vendor's prices")
+    void vendorProducts_shouldBeEvictedOnPriceAdjustmentTest() {
+        ProductClient target = AopTestUtils.getTargetObject(productClient);
+        Product product = new Product(3L, "product3", new BigDecimal(10.5), "image", 3L);
+        given(target.getProductsByVendorIdPath(3L)).willReturn(Collections.singletonList(product));
+
+        productClient.getProductsByVendorIdPath(3L);
+        productClient.getProductsByVendorIdPath(3L);
+        verify(target, times(1)).getProductsByVendorIdPath(3L);
+
+        productClient.getAdjustPricesPath(3L, Collections.singletonMap("percent", 10));
+        productClient.getProductsByVendorIdPath(3L);
+        verify(target, times(2)).getProductsByVendorIdPath(3L);
+    }
+
+    @Test
+    @DisplayName("Vendors should be cached by id and evicted when the gateway deletes the vendor")
+    void vendors_shouldBeCachedAndEvictedOnDeleteTest() {
+        VendorClient target = AopTestUtils.getTargetObject(vendorClient);
+        given(target.getVendorWithProductsById(2L)).willReturn(new Vendor(2L, "TestVendor2"));
+
+        vendorClient.getVendorWithProductsById(2L);
+        vendorClient.getVendorWithProductsById(2L);
+        verify(target, times(1)).getVendorWithProductsById(2L);
+
+        vendorClient.getDeleteVendorByIdPath(2L);
+        vendorClient.getVendorWithProductsById(2L);
+        verify(target, times(2)).getVendorWithProductsById(2L);
+    }
+
+    @Configuration
+    @Import(CacheConfig.class)
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+
+        @Bean
+        ProductClient productClient() {
+            return mock(ProductClient.class);
+        }
+
+        @Bean
+        VendorClient vendorClient() {
+            return mock(VendorClient.class);
+        }
+    }
+}
@@ -2,8 +2,11 @@ package com.gateway.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gateway.assembler.ProductResourceAssembler;
+import com.gateway.batch.ProductBatchLoader;
 import com.gateway.client.ProductClient;
+import com.gateway.exception.NotModifiedException;
 import com.gateway.payload.Product;
+import com.gateway.payload.ProductSearch;
 import com.gateway.payload.Vendor;
 import feign.FeignException;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,21 +17,32 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.hateoas.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -42,6 +56,9 @@ class ProductControllerTest {
     @MockBean
     private ProductResourceAssembler assembler;
 
+    @MockBean
+    private ProductBatchLoader loader;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -62,7 +79,7 @@ class ProductControllerTest {
     @Test
     @DisplayName("Get /products should return list of products with resources and 200 status")
     void getAllProducts_shouldReturnProductListWithResources_and200() throws Exception{
-        given(client.getProductsPath()).willReturn(Collections.singletonList(product));
+        given(client.getProductsPath(anyLong(), anyInt(), any(), any())).willReturn(ResponseEntity.ok(Collections.singletonList(product)));
         given(assembler.toResource(any())).willReturn(productResource);
 
         mockMvc.perform(get("/products")
@@ -70,17 +87,175 @@ class ProductControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$._embedded.productList", hasSize(1)))
                 .andExpect(jsonPath("$._links.self.href", equalTo("http://localhost/products")))
+                .andExpect(jsonPath("$._links.next").doesNotExist())
+                .andDo(print());
+
+        verify(client).getProductsPath(0L, 20, null, null);
+        verify(assembler).toResource(any());
+    }
+
+    @Test
+    @DisplayName("Get /products with a full page should return next link keyed on the last id")
+    void getAllProducts_withFullPage_shouldReturnNextLink() throws Exception {
+        given(client.getProductsPath(anyLong(), anyInt(), any(), any())).willReturn(ResponseEntity.ok(Collections.singletonList(product)));
+        given(assembler.toResource(any())).willReturn(productResource);
+
+        mockMvc.perform(get("/products?after=0&limit=1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.productList", hasSize(1)))
+                .andExpect(jsonPath("$._links.next.href", equalTo("http://localhost/products?after=1&limit=1")))
+                .andDo(print());
+
+        verify(client).getProductsPath(0L, 1, null, null);
+    }
+
+    @Test
+    @DisplayName("Get /products/search sorted by price should pass the search down and key the next link on price and id")
+    void searchProducts_byPrice_shouldReturnNextLinkKeyedOnPriceAndId() throws Exception {
+        given(client.getSearchProductsPath(any(), anyInt(), any()))
+                .willReturn(ResponseEntity.ok().eTag("\"1-abc\"").body(Collections.singletonList(product)));
+        given(assembler.toResource(any())).willReturn(productResource);
+
+        mockMvc.perform(get("/products/search?vendorId=1&sort=price&limit=1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-abc\""))
+                .andExpect(jsonPath("$._embedded.productList", hasSize(1)))
+                .andExpect(jsonPath("$._links.next.href",
+                        equalTo("http://localhost/products/search?vendorId=1&sort=price&limit=1&after=1&afterPrice=10.5")));
+
+        ProductSearch search = new ProductSearch();
+        search.setVendorId(1L);
+        search.setSort("price");
+        verify(client).getSearchProductsPath(search, 1, null);
+    }
+
+    @Test
+    @DisplayName("Get /products should forward If-None-Match and pass the product-service ETag through")
+    void getAllProducts_shouldForwardIfNoneMatch_andReturnETag() throws Exception {
+        given(client.getProductsPath(anyLong(), anyInt(), any(), any()))
+                .willReturn(ResponseEntity.ok().eTag("\"1-abc\"").body(Collections.singletonList(product)));
+        given(assembler.toResource(any())).willReturn(productResource);
+
+        mockMvc.perform(get("/products")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-old\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-abc\""));
+
+        verify(client).getProductsPath(0L, 20, null, "\"1-old\"");
+    }
+
+    @Test
+    @DisplayName("Get /products should return 304 without assembling when product-service answers 304")
+    void getAllProducts_whenNotModified_shouldReturn304() throws Exception {
+        given(client.getProductsPath(anyLong(), anyInt(), any(), any())).willThrow(new NotModifiedException("\"1-abc\""));
+
+        mockMvc.perform(get("/products")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-abc\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-abc\""))
+                .andExpect(content().string(""));
+
+        verify(assembler, never()).toResource(any());
+    }
+
+    @Test
+    @DisplayName("Get /products?fields= should push the translated fields down and keep them on the next link")
+    void getAllProducts_withFields_shouldPushDownFields() throws Exception {
+        Product sparse = new Product(1L, "product1", null, null, null);
+        given(client.getProductsPath(anyLong(), anyInt(), any(), any())).willReturn(ResponseEntity.ok(Collections.singletonList(sparse)));
+        given(assembler.toResource(any())).willReturn(new Resource<>(sparse));
+
+        mockMvc.perform(get("/products?limit=1&fields=id,name,imageUrl")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.productList[0].name", equalTo("product1")))
+                .andExpect(jsonPath("$._embedded.productList[0].price").doesNotExist())
+                .andExpect(jsonPath("$._links.next.href",
+                        startsWith("http://localhost/products?after=1&limit=1&fields=")));
+
+        verify(client).getProductsPath(0L, 1, "id,name,image,vendorId", null);
+    }
+
+    @Test
+    @DisplayName("Get /products?fields=&compact=true should not request vendorId when no links are built")
+    void getAllProducts_withFieldsCompact_shouldNotAddVendorId() throws Exception {
+        Product sparse = new Product(1L, "product1", null, "image", null);
+        given(client.getProductsPath(anyLong(), anyInt(), any(), any())).willReturn(ResponseEntity.ok(Collections.singletonList(sparse)));
+
+        mockMvc.perform(get("/products?fields=id,imageUrl&compact=true")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.productList[0].imageUrl", equalTo("image")))
+                .andExpect(jsonPath("$._embedded.productList[0].vendorId").doesNotExist());
+
+        verify(client).getProductsPath(0L, 20, "id,image", null);
+    }
+
+    @Test
+    @DisplayName("Get /products?fields= with an unknown field should return 400")
+    void getAllProducts_withUnknownField_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/products?fields=id,secret")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(client, never()).getProductsPath(anyLong(), anyInt(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Get /products?compact=true should return products without per-product links")
+    void getAllProducts_compact_shouldSkipLinkAssembly() throws Exception {
+        given(client.getProductsPath(anyLong(), anyInt(), any(), any())).willReturn(ResponseEntity.ok(Collections.singletonList(product)));
+
+        mockMvc.perform(get("/products?compact=true")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.productList[0].id", equalTo(1)))
+                .andExpect(jsonPath("$._embedded.productList[0]._links").doesNotExist())
+                .andExpect(jsonPath("$._links.self.href", equalTo("http://localhost/products")));
+
+        verify(assembler, never()).toResource(any());
+    }
+
+    @Test
+    @DisplayName("Get /products?ids= should return requested products in one downstream call")
+    void getProductsByIds_shouldReturnProductsWithResources_and200() throws Exception {
+        given(client.getProductsByIdsPath(any())).willReturn(Collections.singletonList(product));
+        given(assembler.toResource(any())).willReturn(productResource);
+
+        mockMvc.perform(get("/products?ids=1,2")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.productList", hasSize(1)))
                 .andDo(print());
 
-        verify(client).getProductsPath();
+        verify(client).getProductsByIdsPath(Arrays.asList(1L, 2L));
+        verify(client, never()).getProductsPath(anyLong(), anyInt(), any(), any());
         verify(assembler).toResource(any());
     }
 
+    @Test
+    @DisplayName("Get /products?ids= with too many ids should return 400")
+    void getProductsByIds_withTooManyIds_shouldReturn400() throws Exception {
+        String ids = LongStream.rangeClosed(1, 501)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/products?ids=" + ids)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(client, never()).getProductsByIdsPath(any());
+    }
+
     @Test
     @DisplayName("Get /products/{id} should return product and 200 status")
     void getProductById_shouldReturnProduct_and200Status() throws Exception {
         given(assembler.toResource(any())).willReturn(productResource);
-        given(client.getProductByIdPath(anyLong())).willReturn(product);
+        given(loader.get(anyLong())).willReturn(product);
 
         mockMvc.perform(get("/products/1")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -92,14 +267,14 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.vendorId", equalTo(product.getVendorId().intValue())))
                 .andDo(print());
 
-        verify(client).getProductByIdPath(anyLong());
+        verify(loader).get(anyLong());
         verify(assembler).toResource(any());
     }
 
     @Test
     @DisplayName("GET /products/{id} should throw FeignClient exception")
     void getProductById_shouldThrowFeignException() throws Exception {
-        given(client.getProductByIdPath(anyLong())).willThrow(FeignException.class);
+        given(loader.get(anyLong())).willThrow(FeignException.class);
 
         mockMvc.perform(get("/products/1")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -107,6 +282,38 @@ class ProductControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("GET /products/{id} with a matching If-None-Match should return 304 without loading the product")
+    void getProductById_withIfNoneMatch_shouldReturn304() throws Exception {
+        given(client.getProductByIdPath(anyLong(), any())).willThrow(new NotModifiedException("\"2\""));
+
+        mockMvc.perform(get("/products/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+
+        verify(client).getProductByIdPath(1L, "\"2\"");
+        verify(loader, never()).get(anyLong());
+        verify(assembler, never()).toResource(any());
+    }
+
+    @Test
+    @DisplayName("GET /products/{id} with a stale If-None-Match should return the current product")
+    void getProductById_withStaleIfNoneMatch_shouldReturnProduct() throws Exception {
+        given(client.getProductByIdPath(anyLong(), any())).willReturn(ResponseEntity.ok().eTag("\"3\"").body(product));
+        given(assembler.toResource(any())).willReturn(productResource);
+
+        mockMvc.perform(get("/products/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.id", equalTo(product.getId().intValue())));
+
+        verify(loader, never()).get(anyLong());
+    }
+
     @Test
     @DisplayName("POST /products should save new product and return product and 200 status")
     void createProduct_shouldReturnSavedProduct_andReturn200() throws Exception {
@@ -153,6 +360,64 @@ class ProductControllerTest {
         verify(assembler).toResource(any());
     }
 
+    @Test
+    @DisplayName("PATCH /products/{id} should forward the changes and If-Match and return the new ETag")
+    void patchProduct_shouldForwardIfMatch_andReturnETagTest() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"4\"");
+        given(client.getPatchProductByIdPath(anyLong(), any(), any()))
+                .willReturn(new ResponseEntity<>(product, headers, HttpStatus.OK));
+        given(assembler.toResource(any())).willReturn(productResource);
+
+        mockMvc.perform(patch("/products/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .content("{\"name\": \"renamed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+
+        verify(client).getPatchProductByIdPath(1L, Collections.singletonMap("name", "renamed"), "\"3\"");
+    }
+
+    @Test
+    @DisplayName("PATCH /products/{id} should translate gateway field names to product-service names")
+    void patchProduct_shouldTranslateFieldNamesTest() throws Exception {
+        given(client.getPatchProductByIdPath(anyLong(), any(), any())).willReturn(ResponseEntity.ok(product));
+        given(assembler.toResource(any())).willReturn(productResource);
+
+        mockMvc.perform(patch("/products/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"imageUrl\": \"new-image\"}"))
+                .andExpect(status().isOk());
+
+        verify(client).getPatchProductByIdPath(1L, Collections.singletonMap("image", "new-image"), null);
+    }
+
+    @Test
+    @DisplayName("PATCH /products/{id} should reject fields the gateway does not expose")
+    void patchProduct_withUnknownField_shouldReturn400Test() throws Exception {
+        mockMvc.perform(patch("/products/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"image\": \"new-image\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(client, never()).getPatchProductByIdPath(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("PATCH /products/{id} should pass a 412 from product-service through")
+    void patchProduct_whenVersionConflicts_shouldReturn412Test() throws Exception {
+        given(client.getPatchProductByIdPath(anyLong(), any(), any()))
+                .willThrow(new FeignException(412, "Precondition Failed", null) {
+                });
+
+        mockMvc.perform(patch("/products/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .content("{\"name\": \"renamed\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @DisplayName("Delete /{id} product by id should return 200 test")
     void deleteProduct_shouldDeleteProduct_andReturn200() throws Exception {
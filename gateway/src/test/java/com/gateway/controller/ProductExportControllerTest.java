@@ -0,0 +1,70 @@
+package com.gateway.controller;
+
+import com.gateway.client.ProductClient;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(ProductExportController.class)
+class ProductExportControllerTest {
+
+    private static final String EXPORT = "{\"id\":1,\"name\":\"product1\"}\n{\"id\":2,\"name\":\"product2\"}\n";
+
+    @MockBean
+    private ProductClient client;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("GET /products/export should stream product-service's export unchanged")
+    void exportProducts_shouldCopyBodyAsNdjson() throws Exception {
+        given(client.getProductsExportPath()).willReturn(response(200, EXPORT));
+
+        MvcResult result = mockMvc.perform(get("/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ProductExportController.NDJSON))
+                .andExpect(content().string(EXPORT));
+    }
+
+    @Test
+    @DisplayName("GET /products/export should return 502 when product-service fails")
+    void exportProducts_whenUpstreamFails_shouldReturn502() throws Exception {
+        given(client.getProductsExportPath()).willReturn(response(500, "boom"));
+
+        mockMvc.perform(get("/products/export"))
+                .andExpect(status().isBadGateway());
+    }
+
+    private static Response response(int status, String body) {
+        return Response.builder()
+                .status(status)
+                .headers(Collections.emptyMap())
+                .request(Request.create(Request.HttpMethod.GET, "/export", Collections.emptyMap(), null, StandardCharsets.UTF_8))
+                .body(body, StandardCharsets.UTF_8)
+                .build();
+    }
+}
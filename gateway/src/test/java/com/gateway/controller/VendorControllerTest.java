@@ -1,11 +1,15 @@
 package com.gateway.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gateway.aggregation.AsyncAggregator;
 import com.gateway.assembler.ProductResourceAssembler;
 import com.gateway.assembler.VendorResourceAssembler;
+import com.gateway.batch.ProductBatchLoader;
+import com.gateway.batch.VendorBatchLoader;
 import com.gateway.client.ProductClient;
 import com.gateway.client.VendorClient;
 import com.gateway.exception.CustomFeignException;
+import com.gateway.exception.NotModifiedException;
 import com.gateway.payload.Product;
 import com.gateway.payload.Vendor;
 import feign.FeignException;
@@ -13,30 +17,40 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.hateoas.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.Collections;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(VendorController.class)
+@Import(AsyncAggregator.class)
 class VendorControllerTest {
 
     @MockBean
@@ -51,6 +65,12 @@ class VendorControllerTest {
     @MockBean
     private ProductResourceAssembler productAssembler;
 
+    @MockBean
+    private VendorBatchLoader vendorLoader;
+
+    @MockBean
+    private ProductBatchLoader productLoader;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -72,7 +92,7 @@ class VendorControllerTest {
     @Test
     @DisplayName("GET /vendors should return list of vendors with resources and 200 status")
     void getAllVendors_shouldReturnListOfVendors_and200Test() throws Exception {
-        given(vendorClient.getVendorsPath()).willReturn(Collections.singletonList(vendor1));
+        given(vendorClient.getVendorsPath(anyLong(), anyInt())).willReturn(Collections.singletonList(vendor1));
         given(vendorAssembler.toResource(any())).willReturn(vendorResource);
 
         mockMvc.perform(get("/vendors")
@@ -80,17 +100,33 @@ class VendorControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$._embedded.vendorList", hasSize(1)))
                 .andExpect(jsonPath("$._links.self.href", equalTo("http://localhost/vendors")))
+                .andExpect(jsonPath("$._links.next").doesNotExist())
                 .andDo(print());
 
-        verify(vendorClient).getVendorsPath();
+        verify(vendorClient).getVendorsPath(0L, 20);
         verify(vendorAssembler).toResource(any());
     }
 
+    @Test
+    @DisplayName("GET /vendors should cap page size and return next link keyed on the last id")
+    void getAllVendors_withFullPage_shouldReturnNextLink() throws Exception {
+        given(vendorClient.getVendorsPath(anyLong(), anyInt())).willReturn(Collections.nCopies(100, vendor1));
+        given(vendorAssembler.toResource(any())).willReturn(vendorResource);
+
+        mockMvc.perform(get("/vendors?limit=1000")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.next.href", equalTo("http://localhost/vendors?after=1&limit=100")))
+                .andDo(print());
+
+        verify(vendorClient).getVendorsPath(0L, 100);
+    }
+
     @Test
     @DisplayName("GET /vendors/{id} should return vendor by id with resources and 200 status")
     void getVendorById_shouldReturnVendor_and200Test() throws Exception {
         given(vendorAssembler.toResource(any())).willReturn(vendorResource);
-        given(vendorClient.getVendorByIdPath(anyLong())).willReturn(vendor1);
+        given(vendorLoader.get(anyLong())).willReturn(vendor1);
 
         mockMvc.perform(get("/vendors/1")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -104,14 +140,58 @@ class VendorControllerTest {
 //                .andExpect(jsonPath("$._links.vendors.href", equalTo("http://localhost/vendors")))
                 .andDo(print());
 
-        verify(vendorClient).getVendorByIdPath(anyLong());
+        verify(vendorLoader).get(anyLong());
         verify(vendorAssembler).toResource(any());
     }
 
+    @Test
+    @DisplayName("GET /vendors/{id} should tag the vendor with its version")
+    void getVendorById_shouldReturnVersionETag() throws Exception {
+        vendor1.setVersion(2L);
+        given(vendorAssembler.toResource(any())).willReturn(vendorResource);
+        given(vendorLoader.get(anyLong())).willReturn(vendor1);
+
+        mockMvc.perform(get("/vendors/1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+    }
+
+    @Test
+    @DisplayName("GET /vendors/{id} with If-None-Match should return 304 when vendor-service does")
+    void getVendorById_withIfNoneMatch_shouldReturn304() throws Exception {
+        given(vendorClient.getVendorByIdPath(anyLong(), any())).willThrow(new NotModifiedException("\"2\""));
+
+        mockMvc.perform(get("/vendors/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+
+        verify(vendorClient).getVendorByIdPath(1L, "\"2\"");
+        verify(vendorLoader, never()).get(anyLong());
+        verify(vendorAssembler, never()).toResource(any());
+    }
+
+    @Test
+    @DisplayName("GET /vendors/{id} with a stale If-None-Match should return the current vendor")
+    void getVendorById_withStaleIfNoneMatch_shouldReturnVendor() throws Exception {
+        given(vendorClient.getVendorByIdPath(anyLong(), any()))
+                .willReturn(ResponseEntity.ok().eTag("\"3\"").body(vendor1));
+        given(vendorAssembler.toResource(any())).willReturn(vendorResource);
+
+        mockMvc.perform(get("/vendors/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.id", equalTo(vendor1.getId().intValue())));
+    }
+
     @Test
     @DisplayName("GET /vendors/{id} should throw FeignClient exception")
     void getVendorById_shouldThrowFeignException() throws Exception {
-        given(vendorClient.getVendorByIdPath(anyLong())).willThrow(FeignException.class);
+        given(vendorLoader.get(anyLong())).willThrow(FeignException.class);
 
         mockMvc.perform(get("/vendors/1")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -143,6 +223,26 @@ class VendorControllerTest {
         verify(vendorAssembler).toResource(any());
     }
 
+    @Test
+    @DisplayName("POST /vendors/bulk should return the upserted vendors in request order and 200 status")
+    void upsertVendors_shouldReturnVendorsInOrder_and200Test() throws Exception {
+        Vendor vendor2 = new Vendor(2L, "TestVendor2");
+        given(vendorClient.getUpsertVendorsPath(any())).willReturn(Arrays.asList(vendor2, vendor1));
+        given(vendorAssembler.toResource(any())).willAnswer(invocation -> new Resource<>(invocation.getArgument(0)));
+
+        mockMvc.perform(post("/vendors/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(Arrays.asList(vendor2, vendor1))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.vendorList", hasSize(2)))
+                .andExpect(jsonPath("$._embedded.vendorList[0].id", equalTo(2)))
+                .andExpect(jsonPath("$._embedded.vendorList[1].id", equalTo(1)))
+                .andExpect(jsonPath("$._links.vendors.href", equalTo("http://localhost/vendors")));
+
+        verify(vendorClient).getUpsertVendorsPath(any());
+    }
+
     @Test
     @DisplayName("Put /vendors/{id} should update vendor and return vendor and 200 status")
     void updateVendor_shouldUpdateVendor_andReturn200Test() throws Exception {
@@ -174,6 +274,38 @@ class VendorControllerTest {
                 .andExpect(status().isOk());
 
         verify(vendorClient).getDeleteVendorByIdPath(anyLong());
+        verify(productClient, never()).getDeleteProductsByVendorIdPath(anyLong());
+    }
+
+    @Test
+    @DisplayName("Delete /{id}?cascade=true should delete the vendor's products first test")
+    void deleteVendor_withCascade_shouldDeleteProductsFirstTest() throws Exception {
+        given(productClient.getDeleteProductsByVendorIdPath(anyLong()))
+                .willReturn(Collections.singletonMap("deleted", 3L));
+
+        mockMvc.perform(delete("/vendors/1").param("cascade", "true"))
+                .andExpect(status().isOk());
+
+        InOrder inOrder = inOrder(productClient, vendorClient);
+        inOrder.verify(productClient).getDeleteProductsByVendorIdPath(1L);
+        inOrder.verify(vendorClient).getDeleteVendorByIdPath(1L);
+    }
+
+    @Test
+    @DisplayName("Post /vendors/{id}/products/prices should forward the adjustment and pass the catalog version through")
+    void adjustPrices_shouldForwardAdjustmentTest() throws Exception {
+        given(productClient.getAdjustPricesPath(anyLong(), any()))
+                .willReturn(ResponseEntity.ok().eTag("\"1-abc\"")
+                        .body(Collections.singletonMap("affected", (Object) 2)));
+
+        mockMvc.perform(post("/vendors/1/products/prices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"percent\": 10}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-abc\""))
+                .andExpect(jsonPath("$.affected", equalTo(2)));
+
+        verify(productClient).getAdjustPricesPath(1L, Collections.singletonMap("percent", 10));
     }
 
     @Test
@@ -186,10 +318,11 @@ class VendorControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$._embedded.productList", hasSize(1)))
-                .andExpect(jsonPath("$._links.self.href", equalTo("http://localhost/products")))
+                .andExpect(jsonPath("$._links.self.href", equalTo("http://localhost/vendors/1/products")))
                 .andDo(print());
 
         verify(vendorClient).getVendorWithProductsById(anyLong());
+        verify(productClient).getProductsByVendorIdPath(anyLong());
     }
 
     @Test
@@ -209,8 +342,7 @@ class VendorControllerTest {
     @Test
     @DisplayName("Get /vendor/{id}/products/{id} should return product")
     void getProductByVendorIdAndProductIdTest() throws Exception {
-        vendor1.getProducts().add(productResource);
-        given(productClient.getProductsPath()).willReturn(Collections.singletonList(product1));
+        given(productLoader.get(anyLong())).willReturn(product1);
         given(productAssembler.toResource(any())).willReturn(productResource);
 
         mockMvc.perform(get("/vendors/1/products/1")
@@ -223,15 +355,15 @@ class VendorControllerTest {
                 .andExpect(jsonPath("$.vendorId", equalTo(product1.getVendorId().intValue())))
                 .andDo(print());
 
-        verify(productClient).getProductsPath();
+        verify(productLoader).get(1L);
+        verify(productClient, never()).getProductsByVendorIdPath(anyLong());
         verify(productAssembler).toResource(any());
     }
 
     @Test
     @DisplayName("Get /vendor/{id}/products/{id} should return product")
     void getProductByVendorIdAndProductId_shouldThrowCustomFeignException_Test() throws Exception {
-        vendor1.getProducts().add(productResource);
-        given(productClient.getProductsPath()).willThrow(CustomFeignException.class);
+        given(productLoader.get(anyLong())).willThrow(CustomFeignException.class);
         given(productAssembler.toResource(any())).willReturn(productResource);
 
         mockMvc.perform(get("/vendors/1/products/1")
@@ -239,4 +371,17 @@ class VendorControllerTest {
                 .andExpect(status().isNotFound())
                 .andDo(print());
     }
+
+    @Test
+    @DisplayName("Get /vendor/{id}/products/{id} for another vendor's product should return 404")
+    void getProductByVendorIdAndProductId_withOtherVendorsProduct_shouldReturn404() throws Exception {
+        given(productLoader.get(anyLong())).willReturn(product1);
+
+        mockMvc.perform(get("/vendors/2/products/1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andDo(print());
+
+        verify(productAssembler, never()).toResource(any());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.gateway.metrics;
+
+import com.gateway.client.ProductClient;
+import com.gateway.client.VendorClient;
+import com.gateway.payload.Product;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ClientTimingAspectTest {
+
+    private MeterRegistry registry = new SimpleMeterRegistry();
+    private ClientTimingAspect aspect = new ClientTimingAspect(registry);
+
+    @Test
+    @DisplayName("Successful client calls should be timed with service, route and outcome tags")
+    void time_shouldTagSuccessfulCallsTest() {
+        ProductClient target = mock(ProductClient.class);
+        given(target.getProductByIdPath(1L, null))
+                .willReturn(ResponseEntity.ok(new Product(1L, "product1", new BigDecimal(10.5), "image", 1L)));
+
+        proxy(target, ProductClient.class).getProductByIdPath(1L, null);
+
+        Timer timer = registry.find(ClientTimingAspect.METRIC_NAME)
+                .tags("client", "product-service", "method", "GET", "uri", "/{id}", "outcome", "SUCCESS")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    @DisplayName("Failed client calls should be timed with the outcome of the downstream status")
+    void time_shouldTagFailedCallsByStatusTest() {
+        VendorClient target = mock(VendorClient.class);
+        given(target.getVendorByIdPath(1L, null)).willThrow(new FeignException(503, "unavailable", null) {
+        });
+
+        VendorClient client = proxy(target, VendorClient.class);
+        assertThrows(FeignException.class, () -> client.getVendorByIdPath(1L, null));
+
+        Timer timer = registry.find(ClientTimingAspect.METRIC_NAME)
+                .tags("client", "vendor-service", "uri", "/{id}", "outcome", "SERVER_ERROR")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    private <T> T proxy(T target, Class<T> type) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setInterfaces(type);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,64 @@
+package com.gateway.metrics;
+
+import com.gateway.controller.ProductController;
+import com.gateway.metrics.RequestCostRecorder.HandlerCost;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCostInterceptorTest {
+
+    private SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RequestCostRecorder recorder = new RequestCostRecorder(registry);
+    private RequestCostInterceptor interceptor = new RequestCostInterceptor(recorder);
+
+    @Test
+    @DisplayName("Each handled request should be recorded against its handler method")
+    void afterCompletion_shouldRecordCostPerHandlerMethodTest() throws Exception {
+        HandlerMethod handler = new HandlerMethod(new ProductController(null, null, null),
+                ProductController.class.getMethod("getProductById", Long.class, String.class));
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            assertTrue(interceptor.preHandle(request, response, handler));
+            interceptor.afterCompletion(request, response, handler, null);
+        }
+
+        List<HandlerCost> top = recorder.top(10, HandlerCost.BY_ALLOCATION);
+        assertEquals(1, top.size());
+        assertEquals("ProductController#getProductById", top.get(0).getHandler());
+        assertEquals(2, top.get(0).getRequests());
+        assertNotNull(registry.find("gateway.request.allocation").tag("handler", "ProductController#getProductById").summary());
+    }
+
+    @Test
+    @DisplayName("Handlers outside REST controllers should not be recorded")
+    void afterCompletion_shouldIgnoreNonRestHandlersTest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Object handler = new Object();
+
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertTrue(recorder.top(10, HandlerCost.BY_ALLOCATION).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Top handlers should be ordered by the requested cost, highest first")
+    void top_shouldOrderHandlersByCostTest() {
+        recorder.record("VendorController#getAllVendors", 5_000_000, 1_000);
+        recorder.record("ProductController#getProductById", 1_000, 9_000);
+
+        assertEquals("VendorController#getAllVendors", recorder.top(1, HandlerCost.BY_ALLOCATION).get(0).getHandler());
+        assertEquals("ProductController#getProductById", recorder.top(1, HandlerCost.BY_CPU).get(0).getHandler());
+    }
+}
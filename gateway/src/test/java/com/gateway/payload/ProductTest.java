@@ -0,0 +1,23 @@
+package com.gateway.payload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("A product-service image should be read into imageUrl and written back as imageUrl")
+    void image_shouldBindToImageUrlTest() throws Exception {
+        Product product = mapper.readValue("{\"id\": 1, \"image\": \"a.png\", \"vendorId\": 2}", Product.class);
+
+        assertEquals("a.png", product.getImageUrl());
+        String json = mapper.writeValueAsString(product);
+        assertTrue(json.contains("\"imageUrl\":\"a.png\""), json);
+        assertFalse(json.contains("\"image\":"), json);
+    }
+}
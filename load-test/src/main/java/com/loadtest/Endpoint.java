@@ -0,0 +1,49 @@
+package com.loadtest;
+
+import java.util.Random;
+
+/**
+ * Gateway routes the load test can drive. Ids are drawn uniformly from the configured vendor range.
+ */
+enum Endpoint {
+
+    VENDORS("vendors") {
+        @Override
+        String path(Random random, int vendorCount) {
+            return "/vendors";
+        }
+    },
+    PRODUCTS("products") {
+        @Override
+        String path(Random random, int vendorCount) {
+            return "/products";
+        }
+    },
+    VENDOR_PRODUCTS("vendorProducts") {
+        @Override
+        String path(Random random, int vendorCount) {
+            return "/vendors/" + (1 + random.nextInt(vendorCount)) + "/products";
+        }
+    };
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    abstract String path(Random random, int vendorCount);
+
+    static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint '" + key + "', expected one of vendors, products, vendorProducts");
+    }
+}
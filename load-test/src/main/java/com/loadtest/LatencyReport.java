@@ -0,0 +1,71 @@
+package com.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms. Latencies are recorded in nanoseconds from each request's
+ * intended start time, so time spent waiting behind a slow response is counted rather than hidden.
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+    private final Histogram total = newHistogram();
+    private final LongAdder totalErrors = new LongAdder();
+
+    LatencyReport() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, newHistogram());
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    void record(Endpoint endpoint, long latencyNanos, boolean success) {
+        long value = Math.min(latencyNanos, HIGHEST_TRACKABLE);
+        latencies.get(endpoint).recordValue(value);
+        total.recordValue(value);
+        if (!success) {
+            errors.get(endpoint).increment();
+            totalErrors.increment();
+        }
+    }
+
+    void print(PrintStream out, long measuredNanos) {
+        double seconds = measuredNanos / 1e9;
+        out.printf("%-16s %10s %8s %12s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            if (histogram.getTotalCount() > 0) {
+                printRow(out, endpoint.key(), histogram, errors.get(endpoint).sum(), seconds);
+            }
+        }
+        printRow(out, "total", total, totalErrors.sum(), seconds);
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, long errorCount, double seconds) {
+        out.printf("%-16s %10d %8d %12.1f %10.2f %10.2f %10.2f %10.2f%n",
+                name, histogram.getTotalCount(), errorCount, histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE, 3);
+    }
+}
@@ -0,0 +1,99 @@
+package com.loadtest;
+
+import com.gateway.GatewayApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the gateway with a static server list instead of Eureka, pointed either at in-process
+ * stub services or at locally running product-service and vendor-service instances, then drives
+ * an open-model traffic mix against it and prints throughput and latency percentiles.
+ *
+ * <p>Options, all {@code --name=value}:
+ * <ul>
+ * <li>{@code rate} requests per second, default 500</li>
+ * <li>{@code duration} and {@code warmup} in seconds, default 60 and 10</li>
+ * <li>{@code mix} endpoint weights, default {@code vendors:20,products:40,vendorProducts:40}</li>
+ * <li>{@code connections} concurrent client connections, default 200</li>
+ * <li>{@code vendors} and {@code products-per-vendor} stub catalog size and vendor id range, default 100 and 20</li>
+ * <li>{@code stub-latency-ms} fixed delay added by each stub response, default 0</li>
+ * <li>{@code product-service} and {@code vendor-service} host:port of real services, replacing the stubs</li>
+ * <li>{@code gateway} base URL of an already running gateway, skipping the in-process one</li>
+ * </ul>
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+
+        int rate = intOption(options, "rate", 500);
+        int duration = intOption(options, "duration", 60);
+        int warmup = intOption(options, "warmup", 10);
+        int connections = intOption(options, "connections", 200);
+        // HttpURLConnection keeps only 5 idle connections per host by default; with more workers
+        // than that most requests would open a new socket. Must be set before the first request.
+        System.setProperty("http.maxConnections", String.valueOf(connections));
+        int vendorCount = intOption(options, "vendors", 100);
+        TrafficMix mix = TrafficMix.parse(option(options, "mix", "vendors:20,products:40,vendorProducts:40"));
+
+        StubServices stubs = null;
+        ConfigurableApplicationContext gateway = null;
+        try {
+            String productService = options.getProperty("product-service");
+            String vendorService = options.getProperty("vendor-service");
+            if (productService == null || vendorService == null) {
+                stubs = new StubServices(vendorCount, intOption(options, "products-per-vendor", 20),
+                        intOption(options, "stub-latency-ms", 0), connections);
+                productService = stubs.productServiceAddress();
+                vendorService = stubs.vendorServiceAddress();
+            }
+
+            String baseUrl = options.getProperty("gateway");
+            if (baseUrl == null) {
+                gateway = startGateway(productService, vendorService);
+                baseUrl = "http://localhost:" + ((WebServerApplicationContext) gateway).getWebServer().getPort();
+            }
+
+            System.out.printf("Driving %s at %d req/s for %ds after %ds warm-up (%s)%n",
+                    baseUrl, rate, duration, warmup, mix);
+
+            LatencyReport report = new OpenModelDriver(baseUrl, mix, vendorCount, connections)
+                    .run(rate, TimeUnit.SECONDS.toNanos(warmup), TimeUnit.SECONDS.toNanos(duration));
+
+            report.print(System.out, TimeUnit.SECONDS.toNanos(duration));
+        } finally {
+            if (gateway != null) {
+                gateway.close();
+            }
+            if (stubs != null) {
+                stubs.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startGateway(String productService, String vendorService) {
+        return new SpringApplicationBuilder(GatewayApplication.class)
+                .properties(
+                        "server.port=0",
+                        "eureka.client.enabled=false",
+                        "ribbon.eureka.enabled=false",
+                        "product-service.ribbon.listOfServers=" + productService,
+                        "vendor-service.ribbon.listOfServers=" + vendorService,
+                        // per-request INFO logging would measure the console rather than the gateway
+                        "logging.level.com.gateway=WARN")
+                .run();
+    }
+
+    private static String option(SimpleCommandLinePropertySource options, String name, String defaultValue) {
+        String value = options.getProperty(name);
+        return value == null ? defaultValue : value;
+    }
+
+    private static int intOption(SimpleCommandLinePropertySource options, String name, int defaultValue) {
+        return Integer.parseInt(option(options, name, String.valueOf(defaultValue)));
+    }
+}
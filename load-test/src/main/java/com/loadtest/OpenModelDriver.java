@@ -0,0 +1,165 @@
+package com.loadtest;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are issued on a fixed schedule regardless of how fast
+ * earlier ones complete, and each latency is measured from the scheduled start. A slow gateway
+ * therefore shows up as queueing in the percentiles instead of a quietly reduced request rate.
+ */
+final class OpenModelDriver {
+
+    private static final int TIMEOUT_MILLIS = 30_000;
+
+    private final String baseUrl;
+    private final TrafficMix mix;
+    private final int vendorCount;
+    private final int connections;
+
+    OpenModelDriver(String baseUrl, TrafficMix mix, int vendorCount, int connections) {
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.vendorCount = vendorCount;
+        this.connections = connections;
+    }
+
+    /**
+     * Drives {@code rate} requests per second for the warm-up and then the measured period.
+     * Only requests scheduled inside the measured period are recorded.
+     */
+    LatencyReport run(int rate, long warmupNanos, long durationNanos) throws InterruptedException {
+        LatencyReport report = new LatencyReport();
+        AtomicInteger backlog = new AtomicInteger();
+        int maxBacklog = 0;
+        Random random = new Random(42);
+
+        // unbounded queue so the schedule never waits on the workers; queueing time counts as latency
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(connections, connections, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("load-"));
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Endpoint endpoint = mix.next(random);
+            String path = endpoint.path(random, vendorCount);
+            boolean measured = intended >= measureFrom;
+
+            maxBacklog = Math.max(maxBacklog, backlog.incrementAndGet());
+            workers.execute(new Request(endpoint, path, intended, measured, report, backlog));
+        }
+
+        workers.shutdown();
+        if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+            // requests still queued are the slowest of the run; dropping them would flatter the tail
+            List<Runnable> unstarted = new ArrayList<>();
+            workers.getQueue().drainTo(unstarted);
+            long abandonedAt = System.nanoTime();
+            unstarted.forEach(request -> ((Request) request).fail(abandonedAt));
+            System.out.println(unstarted.size() + " requests never started and were counted as failures");
+
+            // the ones in flight end within the read timeout and record themselves
+            workers.awaitTermination(2L * TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        if (maxBacklog > connections) {
+            System.out.println("Client backlog peaked at " + maxBacklog + " requests over " + connections
+                    + " connections; raise --connections if the gateway is not the bottleneck");
+        }
+        return report;
+    }
+
+    private final class Request implements Runnable {
+
+        private final Endpoint endpoint;
+        private final String path;
+        private final long intended;
+        private final boolean measured;
+        private final LatencyReport report;
+        private final AtomicInteger backlog;
+
+        Request(Endpoint endpoint, String path, long intended, boolean measured, LatencyReport report,
+                AtomicInteger backlog) {
+            this.endpoint = endpoint;
+            this.path = path;
+            this.intended = intended;
+            this.measured = measured;
+            this.report = report;
+            this.backlog = backlog;
+        }
+
+        @Override
+        public void run() {
+            boolean success = call(path);
+            finish(System.nanoTime(), success);
+        }
+
+        void fail(long now) {
+            finish(now, false);
+        }
+
+        private void finish(long now, boolean success) {
+            backlog.decrementAndGet();
+            if (measured) {
+                report.record(endpoint, now - intended, success);
+            }
+        }
+    }
+
+    private boolean call(String path) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+            connection.setConnectTimeout(TIMEOUT_MILLIS);
+            connection.setReadTimeout(TIMEOUT_MILLIS);
+            connection.setRequestProperty("Accept", "application/json");
+
+            int status = connection.getResponseCode();
+            drain(status < 400 ? connection.getInputStream() : connection.getErrorStream());
+            return status < 400;
+        } catch (IOException e) {
+            if (connection != null) {
+                connection.disconnect();
+            }
+            return false;
+        }
+    }
+
+    // reading the body to the end lets the JDK keep the connection alive for the next request
+    private static void drain(InputStream body) throws IOException {
+        if (body == null) {
+            return;
+        }
+        try (InputStream in = body) {
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer) != -1) {
+                // discard
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gateway.payload.Product;
+import com.gateway.payload.Vendor;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * In-process stand-ins for product-service and vendor-service on the JDK HTTP server. They answer
+ * the routes the gateway's Feign clients use from a generated catalog, after an optional fixed
+ * delay that models service and database time.
+ */
+final class StubServices implements AutoCloseable {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<Vendor> vendors = new ArrayList<>();
+    private final List<Product> products = new ArrayList<>();
+    private final int productsPerVendor;
+    private final long latencyMillis;
+    private final ExecutorService executor;
+    private final HttpServer productService;
+    private final HttpServer vendorService;
+
+    StubServices(int vendorCount, int productsPerVendor, long latencyMillis, int threads) throws IOException {
+        this.productsPerVendor = productsPerVendor;
+        this.latencyMillis = latencyMillis;
+
+        long productId = 1;
+        for (long vendorId = 1; vendorId <= vendorCount; vendorId++) {
+            vendors.add(new Vendor(vendorId, "Vendor " + vendorId));
+            for (int i = 0; i < productsPerVendor; i++, productId++) {
+                products.add(new Product(productId, "Product " + productId, BigDecimal.valueOf(productId, 2),
+                        "image-" + productId + ".png", vendorId));
+            }
+        }
+
+        this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("stub-"));
+        this.productService = start(this::handleProducts);
+        this.vendorService = start(this::handleVendors);
+    }
+
+    String productServiceAddress() {
+        return "localhost:" + productService.getAddress().getPort();
+    }
+
+    String vendorServiceAddress() {
+        return "localhost:" + vendorService.getAddress().getPort();
+    }
+
+    private HttpServer start(Handler handler) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            try {
+                if (latencyMillis > 0) {
+                    Thread.sleep(latencyMillis);
+                }
+                handler.handle(exchange);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                respond(exchange, 503, null);
+            } catch (RuntimeException e) {
+                respond(exchange, 500, null);
+            } finally {
+                exchange.close();
+            }
+        });
+        server.setExecutor(executor);
+        server.start();
+        return server;
+    }
+
+    private void handleProducts(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        MultiValueMap<String, String> query = query(exchange);
+
+        if (path.equals("/") && query.containsKey("ids")) {
+            respond(exchange, 200, ids(query).stream()
+                    .filter(id -> id >= 1 && id <= products.size())
+                    .map(id -> products.get((int) (id - 1)))
+                    .collect(Collectors.toList()));
+        } else if (path.equals("/")) {
+            respond(exchange, 200, page(products, query));
+        } else if (path.startsWith("/vendors/")) {
+            long vendorId = Long.parseLong(path.substring("/vendors/".length()));
+            if (vendorId < 1 || vendorId > vendors.size()) {
+                respond(exchange, 200, Collections.emptyList());
+            } else {
+                int from = (int) (vendorId - 1) * productsPerVendor;
+                respond(exchange, 200, products.subList(from, from + productsPerVendor));
+            }
+        } else {
+            respondWithItem(exchange, products, Long.parseLong(path.substring(1)));
+        }
+    }
+
+    private void handleVendors(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        MultiValueMap<String, String> query = query(exchange);
+
+        if (path.equals("/") && query.containsKey("ids")) {
+            respond(exchange, 200, ids(query).stream()
+                    .filter(id -> id >= 1 && id <= vendors.size())
+                    .map(id -> vendors.get((int) (id - 1)))
+                    .collect(Collectors.toList()));
+        } else if (path.equals("/")) {
+            respond(exchange, 200, page(vendors, query));
+        } else {
+            respondWithItem(exchange, vendors, Long.parseLong(path.substring(1)));
+        }
+    }
+
+    private void respondWithItem(HttpExchange exchange, List<?> items, long id) throws IOException {
+        if (id < 1 || id > items.size()) {
+            respond(exchange, 404, null);
+        } else {
+            respond(exchange, 200, items.get((int) (id - 1)));
+        }
+    }
+
+    // ids are sequential, so "after" is also the list offset
+    private static <T> List<T> page(List<T> items, MultiValueMap<String, String> query) {
+        long after = Long.parseLong(query.getOrDefault("after", Collections.singletonList("0")).get(0));
+        int limit = Integer.parseInt(query.getOrDefault("limit", Collections.singletonList("100")).get(0));
+        int from = (int) Math.min(after, items.size());
+        return items.subList(from, Math.min(from + limit, items.size()));
+    }
+
+    private static List<Long> ids(MultiValueMap<String, String> query) {
+        List<Long> ids = new ArrayList<>();
+        for (String value : query.get("ids")) {
+            for (String id : value.split(",")) {
+                ids.add(Long.parseLong(id.trim()));
+            }
+        }
+        return ids;
+    }
+
+    private static MultiValueMap<String, String> query(HttpExchange exchange) throws IOException {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw != null) {
+            for (String pair : raw.split("&")) {
+                int equals = pair.indexOf('=');
+                if (equals > 0) {
+                    params.add(URLDecoder.decode(pair.substring(0, equals), "UTF-8"),
+                            URLDecoder.decode(pair.substring(equals + 1), "UTF-8"));
+                }
+            }
+        }
+        return params;
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] json = mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=" + StandardCharsets.UTF_8.name());
+        exchange.sendResponseHeaders(status, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+
+    @Override
+    public void close() {
+        productService.stop(0);
+        vendorService.stop(0);
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+}
@@ -0,0 +1,76 @@
+package com.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted choice of endpoints, parsed from {@code vendors:20,products:40,vendorProducts:40}.
+ */
+final class TrafficMix {
+
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private TrafficMix(Map<Endpoint, Integer> weights) {
+        this.endpoints = new Endpoint[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+
+        int total = 0;
+        int index = 0;
+        for (Map.Entry<Endpoint, Integer> entry : weights.entrySet()) {
+            total += entry.getValue();
+            endpoints[index] = entry.getKey();
+            cumulativeWeights[index] = total;
+            index++;
+        }
+        this.totalWeight = total;
+    }
+
+    static TrafficMix parse(String spec) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String part : spec.split(",")) {
+            String[] keyAndWeight = part.trim().split(":");
+            if (keyAndWeight.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint:weight but got '" + part + "'");
+            }
+            int weight = Integer.parseInt(keyAndWeight[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight must not be negative: " + part);
+            }
+            if (weight > 0) {
+                weights.merge(Endpoint.fromKey(keyAndWeight[0].trim()), weight, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix '" + spec + "' has no endpoint with a positive weight");
+        }
+        return new TrafficMix(weights);
+    }
+
+    Endpoint next(Random random) {
+        int pick = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder();
+        int previous = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            if (i > 0) {
+                description.append(", ");
+            }
+            description.append(endpoints[i].key()).append(' ')
+                    .append(100 * (cumulativeWeights[i] - previous) / totalWeight).append('%');
+            previous = cumulativeWeights[i];
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,49 @@
+package com.productservice.controller;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Strong ETags derived from entity versions. A single entity is tagged with its version; a list
+ * with a hash of its ids and versions, which changes whenever an entry is added, removed,
+ * reordered or updated, without serializing the body.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * The version an {@code If-Match} header requires, {@code null} when any version will do.
+     * A tag this service did not issue can never match, so it maps to an impossible version.
+     */
+    static Long version(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return -1L;
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    static <T> String of(List<T> items, Function<T, Long> id, ToLongFunction<T> version) {
+        long hash = items.size();
+        for (T item : items) {
+            Long itemId = id.apply(item);
+            hash = 31 * hash + (itemId == null ? 0 : itemId);
+            hash = 31 * hash + version.applyAsLong(item);
+        }
+        return "\"" + items.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+}
@@ -1,6 +1,7 @@
 package com.productservice.controller.ExceptionHandler;
 
 import com.productservice.exceptions.ResourceNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,4 +16,10 @@ public class RestExceptionHandler {
     public ResponseEntity<Object> handleNotFoundException(Exception exception, WebRequest request) {
         return new ResponseEntity<>(exception.getMessage(), new HttpHeaders(), HttpStatus.NOT_FOUND);
     }
+
+    // If-Match named another version, or a concurrent write got there first
+    @ExceptionHandler({OptimisticLockingFailureException.class})
+    public ResponseEntity<Object> handleOptimisticLockingFailure(Exception exception, WebRequest request) {
+        return new ResponseEntity<>(exception.getMessage(), new HttpHeaders(), HttpStatus.PRECONDITION_FAILED);
+    }
 }
@@ -1,14 +1,31 @@
 package com.productservice.controller;
 
+import com.productservice.model.PriceAdjustment;
 import com.productservice.model.Product;
+import com.productservice.model.ProductSearch;
 import com.productservice.repository.ProductRepository;
+import com.productservice.repository.ProductSpecifications;
+import com.productservice.repository.ProductVersion;
+import com.productservice.repository.ProductView;
 import com.productservice.service.ProductService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
 
 //import static com.productservice.controller.ProductController.PRODUCT_URL;
 
@@ -20,6 +37,9 @@ public class ProductController {
     private final ProductService service;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProductController.class);
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final Set<String> SELECTABLE_FIELDS =
+            new LinkedHashSet<>(asList("id", "name", "price", "image", "vendorId", "version"));
 
 //    public static final String PRODUCT_URL = "/api/v1/products";
 
@@ -29,17 +49,74 @@ public class ProductController {
     }
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<Product> getAllProducts() {
-        LOGGER.info("Gathering products...");
-        return repository.findAll();
+    public ResponseEntity<List<ProductView>> getAllProducts(@RequestParam(defaultValue = "0") Long after,
+                                                            @RequestParam(defaultValue = "100") Integer limit) {
+        LOGGER.info("Gathering products after: " + after);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return withViewETag(repository.findViewsByIdGreaterThan(after, PageRequest.of(0, pageSize)));
+    }
+
+    @GetMapping(params = {"fields", "!ids"})
+    public ResponseEntity<List<Map<String, Object>>> getProductFields(@RequestParam(defaultValue = "0") Long after,
+                                                                      @RequestParam(defaultValue = "100") Integer limit,
+                                                                      @RequestParam List<String> fields) {
+        LOGGER.info("Gathering product fields " + fields + " after: " + after);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // id and version are always read: id is the paging cursor, both feed the ETag
+        Set<String> selected = new LinkedHashSet<>(asList("id", "version"));
+        for (String field : fields) {
+            if (!SELECTABLE_FIELDS.contains(field)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown field '" + field + "', expected any of " + SELECTABLE_FIELDS);
+            }
+            selected.add(field);
+        }
+
+        List<Map<String, Object>> rows = repository.findFieldsByIdGreaterThan(after, pageSize, selected);
+        String eTag = ETags.of(rows, row -> (Long) row.get("id"), row -> (Long) row.get("version"));
+        if (!fields.contains("version")) {
+            rows.forEach(row -> row.remove("version"));
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(rows);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<Product>> getProductsByIds(@RequestParam List<Long> ids) {
+        LOGGER.info("Gathering " + ids.size() + " products by id");
+        return withETag(service.getProductsByIds(ids));
+    }
+
+    @GetMapping("/vendors/{vendorId}")
+    public ResponseEntity<List<ProductView>> getProductsByVendorId(@PathVariable Long vendorId) {
+        LOGGER.info("Gathering products for vendor: " + vendorId);
+        return withViewETag(repository.findViewsByVendorId(vendorId));
+    }
+
+    /**
+     * Filtered, sorted keyset search; filters and order are pushed down into one indexed
+     * query, see {@link ProductSpecifications}.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductView>> searchProducts(ProductSearch search,
+                                                            @RequestParam(defaultValue = "100") Integer limit) {
+        LOGGER.info("Searching products by vendor " + search.getVendorId() + " sorted by " + search.getSort());
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Specification<Product> specification;
+        try {
+            specification = ProductSpecifications.matching(search);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return withViewETag(repository.findViews(specification, ProductSpecifications.sort(search), pageSize));
     }
 
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public Product getProductById(@PathVariable Long id) {
+    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
         LOGGER.info("Gathering product: " + id);
-        return service.getProductById(id);
+        Product product = service.getProductById(id);
+        return ResponseEntity.ok().eTag(ETags.of(product.getVersion())).body(product);
     }
 
     @PostMapping
@@ -55,9 +132,68 @@ public class ProductController {
         return service.updateProduct(id, product);
     }
 
+    @PatchMapping(value = "/{id}", consumes = {"application/json", "application/merge-patch+json"})
+    public ResponseEntity<Product> patchProductById(@PathVariable Long id, @RequestBody Map<String, Object> changes,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        LOGGER.info("Patching product: " + id + " fields " + changes.keySet());
+        Product product;
+        try {
+            product = service.patchProduct(id, changes, ETags.version(ifMatch));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return ResponseEntity.ok().eTag(ETags.of(product.getVersion())).body(product);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteProductById(@PathVariable Long id) {
         LOGGER.info("Deleting product: " + id);
-        repository.deleteById(id);
+        service.deleteProduct(id);
+    }
+
+    @DeleteMapping("/vendors/{vendorId}")
+    public Map<String, Long> deleteProductsByVendorId(@PathVariable Long vendorId) {
+        LOGGER.info("Deleting products for vendor: " + vendorId);
+        long deleted = service.deleteProductsByVendorId(vendorId);
+        LOGGER.info("Deleted " + deleted + " products for vendor: " + vendorId);
+        return Collections.singletonMap("deleted", deleted);
+    }
+
+    /**
+     * Changes the prices of the vendor's products in place. The response carries the number of
+     * products changed and the vendor's new catalog version, which is also the ETag that
+     * {@code GET /vendors/{vendorId}} now returns.
+     */
+    @PostMapping("/vendors/{vendorId}/prices")
+    public ResponseEntity<Map<String, Object>> adjustPrices(@PathVariable Long vendorId,
+                                                            @RequestBody PriceAdjustment adjustment) {
+        LOGGER.info("Adjusting prices for vendor: " + vendorId);
+        long affected;
+        try {
+            affected = service.adjustPrices(vendorId, adjustment);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        String catalogVersion = ETags.of(repository.findVersionsByVendorId(vendorId),
+                ProductVersion::getId, ProductVersion::getVersion);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("affected", affected);
+        body.put("catalogVersion", catalogVersion);
+        return ResponseEntity.ok().eTag(catalogVersion).body(body);
+    }
+
+    // a matching If-None-Match turns these into 304s before the body is written
+    private static ResponseEntity<List<Product>> withETag(List<Product> products) {
+        return ResponseEntity.ok()
+                .eTag(ETags.of(products, Product::getId, Product::getVersion))
+                .body(products);
+    }
+
+    private static ResponseEntity<List<ProductView>> withViewETag(List<ProductView> products) {
+        return ResponseEntity.ok()
+                .eTag(ETags.of(products, ProductView::getId, ProductView::getVersion))
+                .body(products);
     }
 }
@@ -0,0 +1,30 @@
+package com.productservice.controller;
+
+import com.productservice.export.ProductExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+public class ProductExportController {
+
+    private final ProductExporter exporter;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductExportController.class);
+
+    public ProductExportController(ProductExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @GetMapping(value = "/export", produces = ProductExporter.NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        LOGGER.info("Streaming product export ...");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ProductExporter.NDJSON))
+                .body(exporter::export);
+    }
+}
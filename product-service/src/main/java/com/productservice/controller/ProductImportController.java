@@ -0,0 +1,46 @@
+package com.productservice.controller;
+
+import com.productservice.importer.ImportResult;
+import com.productservice.importer.ProductImporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+public class ProductImportController {
+
+    private final ProductImporter importer;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductImportController.class);
+
+    public ProductImportController(ProductImporter importer) {
+        this.importer = importer;
+    }
+
+    @PostMapping(value = "/import", consumes = ProductImporter.CSV)
+    public ImportResult importCsv(InputStream body) throws IOException {
+        LOGGER.info("Importing products from CSV ...");
+        try {
+            return log(importer.importCsv(body));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = ProductImporter.NDJSON)
+    public ImportResult importNdjson(InputStream body) throws IOException {
+        LOGGER.info("Importing products from NDJSON ...");
+        return log(importer.importNdjson(body));
+    }
+
+    private static ImportResult log(ImportResult result) {
+        LOGGER.info("Imported {} products, rejected {}", result.getImported(), result.getFailed());
+        return result;
+    }
+}
@@ -0,0 +1,83 @@
+package com.productservice.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Writes the whole catalog as newline-delimited JSON, one product per line, straight from a
+ * forward-only, read-only JDBC cursor. Rows are fetched {@link #FETCH_SIZE} at a time and
+ * written as they arrive, so memory use does not grow with the catalog. On MySQL the fetch
+ * size only takes effect with {@code useCursorFetch=true} on the connection URL.
+ */
+@Component
+public class ProductExporter {
+
+    public static final String NDJSON = "application/x-ndjson";
+    static final int FETCH_SIZE = 1000;
+
+    private static final String SELECT_ALL =
+            "SELECT id, name, price, image, vendor_id, version FROM product ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonFactory jsonFactory = new JsonFactory()
+            .setRootValueSeparator(null)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    public ProductExporter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void export(OutputStream out) throws IOException {
+        try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_ALL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, (RowCallbackHandler) row -> write(json, row));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void write(JsonGenerator json, ResultSet row) throws SQLException {
+        try {
+            json.writeStartObject();
+            json.writeNumberField("id", row.getLong("id"));
+            json.writeStringField("name", row.getString("name"));
+
+            BigDecimal price = row.getBigDecimal("price");
+            if (price == null) {
+                json.writeNullField("price");
+            } else {
+                json.writeNumberField("price", price);
+            }
+
+            json.writeStringField("image", row.getString("image"));
+
+            long vendorId = row.getLong("vendor_id");
+            if (row.wasNull()) {
+                json.writeNullField("vendorId");
+            } else {
+                json.writeNumberField("vendorId", vendorId);
+            }
+
+            json.writeNumberField("version", row.getLong("version"));
+            json.writeEndObject();
+            json.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.productservice.importer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many rows were inserted, how many were rejected and why.
+ * Only the first {@link #MAX_REPORTED_ERRORS} rejections are listed; {@link #getFailed()}
+ * always counts all of them.
+ */
+public class ImportResult {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long imported;
+    private long failed;
+    private final List<RowError> errors = new ArrayList<>();
+
+    void imported(int rows) {
+        imported += rows;
+    }
+
+    void failed(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public static class RowError {
+
+        private final long line;
+        private final String message;
+
+        RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
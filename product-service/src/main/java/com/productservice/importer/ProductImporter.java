@@ -0,0 +1,241 @@
+package com.productservice.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productservice.repository.IdSequences;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Inserts products from a CSV or NDJSON stream. The input is read one line at a time and
+ * rows are written with plain JDBC batch inserts, {@code batchSize} rows per transaction,
+ * so neither the request body nor the whole import is ever held in memory or in one
+ * transaction.
+ *
+ * <p>Ids for each batch are reserved up front from the {@code product} sequence in
+ * {@link IdSequences}, the same one Hibernate draws from, and
+ * {@code rewriteBatchedStatements=true} on the MySQL URL turns each batch into a single
+ * multi-row {@code INSERT}.
+ *
+ * <p>Rows that fail to parse or validate are skipped and reported by line number. If the
+ * database rejects a batch, that batch is rolled back and each of its rows is reported.
+ */
+@Component
+public class ProductImporter {
+
+    public static final String CSV = "text/csv";
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final String INSERT =
+            "INSERT INTO product (id, name, price, image, vendor_id, version) VALUES (?, ?, ?, ?, ?, 0)";
+    private static final int[] INSERT_TYPES =
+            {Types.BIGINT, Types.VARCHAR, Types.DECIMAL, Types.VARCHAR, Types.BIGINT};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdSequences idSequences;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int batchSize;
+
+    public ProductImporter(JdbcTemplate jdbcTemplate, IdSequences idSequences,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${product.import.batch-size:1000}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("product.import.batch-size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.idSequences = idSequences;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports a CSV stream whose first line is a header naming the columns {@code name},
+     * {@code price}, {@code image} and {@code vendorId}, in any order. Fields may be quoted;
+     * quoted fields may not span lines.
+     */
+    public ImportResult importCsv(InputStream in) throws IOException {
+        ImportResult result = new ImportResult();
+        Batch batch = new Batch(result);
+
+        try (BufferedReader reader = reader(in)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return result;
+            }
+            Map<String, Integer> columns = columns(Csv.split(header));
+
+            String line;
+            long lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    List<String> fields = Csv.split(line);
+                    batch.add(lineNumber, row(
+                            field(fields, columns, "name"),
+                            field(fields, columns, "price"),
+                            field(fields, columns, "image"),
+                            field(fields, columns, "vendorid")));
+                } catch (IllegalArgumentException e) {
+                    result.failed(lineNumber, e.getMessage());
+                }
+            }
+        }
+        batch.flush();
+        return result;
+    }
+
+    /**
+     * Imports a newline-delimited JSON stream with one product object per line, using the
+     * same field names as the product representation.
+     */
+    public ImportResult importNdjson(InputStream in) throws IOException {
+        ImportResult result = new ImportResult();
+        Batch batch = new Batch(result);
+
+        try (BufferedReader reader = reader(in)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    JsonNode node = objectMapper.readTree(line);
+                    if (node == null || !node.isObject()) {
+                        throw new IllegalArgumentException("expected a JSON object");
+                    }
+                    batch.add(lineNumber, row(text(node, "name"), text(node, "price"),
+                            text(node, "image"), text(node, "vendorId")));
+                } catch (JsonProcessingException e) {
+                    result.failed(lineNumber, "malformed JSON: " + e.getOriginalMessage());
+                } catch (IllegalArgumentException e) {
+                    result.failed(lineNumber, e.getMessage());
+                }
+            }
+        }
+        batch.flush();
+        return result;
+    }
+
+    private static BufferedReader reader(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("price") || !columns.containsKey("vendorid")) {
+            throw new IllegalArgumentException("CSV header must name the columns name, price and vendorId");
+        }
+        return columns;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static Object[] row(String name, String price, String image, String vendorId) {
+        if (name == null) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (price == null) {
+            throw new IllegalArgumentException("price is required");
+        }
+        if (vendorId == null) {
+            throw new IllegalArgumentException("vendorId is required");
+        }
+
+        BigDecimal parsedPrice;
+        try {
+            parsedPrice = new BigDecimal(price);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("price is not a number: " + price);
+        }
+        if (parsedPrice.signum() < 0) {
+            throw new IllegalArgumentException("price must not be negative");
+        }
+
+        long parsedVendorId;
+        try {
+            parsedVendorId = Long.parseLong(vendorId);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("vendorId is not a number: " + vendorId);
+        }
+
+        return new Object[]{null, name, parsedPrice, image, parsedVendorId};
+    }
+
+    /** Collects parsed rows and writes them {@code batchSize} at a time, one transaction per batch. */
+    private class Batch {
+
+        private final ImportResult result;
+        private final List<Object[]> rows = new ArrayList<>(batchSize);
+        private final List<Long> lines = new ArrayList<>(batchSize);
+
+        Batch(ImportResult result) {
+            this.result = result;
+        }
+
+        void add(long line, Object[] row) {
+            rows.add(row);
+            lines.add(line);
+            if (rows.size() == batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            try {
+                long id = idSequences.allocate(IdSequences.PRODUCT, rows.size());
+                for (Object[] row : rows) {
+                    row[0] = id++;
+                }
+                transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT, rows, INSERT_TYPES));
+                result.imported(rows.size());
+            } catch (DataAccessException e) {
+                String message = "batch rolled back: " + e.getMostSpecificCause().getMessage();
+                lines.forEach(line -> result.failed(line, message));
+            }
+            rows.clear();
+            lines.clear();
+        }
+    }
+}
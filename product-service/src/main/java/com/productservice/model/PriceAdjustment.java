@@ -0,0 +1,58 @@
+package com.productservice.model;
+
+import java.math.BigDecimal;
+
+/**
+ * A price change for a vendor's products: either {@code percent} (10 raises prices by 10%,
+ * -10 lowers them) or an absolute {@code amount} added to each price, optionally limited to
+ * products priced within {@code minPrice} and {@code maxPrice}, both inclusive.
+ */
+public class PriceAdjustment {
+
+    private BigDecimal percent;
+    private BigDecimal amount;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+
+    public PriceAdjustment() {
+    }
+
+    public PriceAdjustment(BigDecimal percent, BigDecimal amount, BigDecimal minPrice, BigDecimal maxPrice) {
+        this.percent = percent;
+        this.amount = amount;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    public BigDecimal getPercent() {
+        return percent;
+    }
+
+    public void setPercent(BigDecimal percent) {
+        this.percent = percent;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+}
@@ -1,22 +1,49 @@
 package com.productservice.model;
 
+import com.productservice.repository.IdSequences;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.Version;
 import java.math.BigDecimal;
 
 @Entity
+@DynamicUpdate
+@Table(indexes = {
+        @Index(name = "idx_product_vendor_id", columnList = "vendor_id"),
+        @Index(name = "idx_product_vendor_id_price", columnList = "vendor_id, price"),
+        @Index(name = "idx_product_price", columnList = "price"),
+        @Index(name = "idx_product_name", columnList = "name")})
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "product_id")
+    @GenericGenerator(name = "product_id", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+            @Parameter(name = "table_name", value = "id_sequences"),
+            @Parameter(name = "segment_column_name", value = "sequence_name"),
+            @Parameter(name = "value_column_name", value = "next_val"),
+            @Parameter(name = "segment_value", value = IdSequences.PRODUCT),
+            @Parameter(name = "increment_size", value = IdSequences.INCREMENT_SIZE),
+            @Parameter(name = "optimizer", value = "pooled-lo")})
     private Long id;
     private String name;
     private BigDecimal price;
     private String image;
+
+    @Column(name = "vendor_id")
     private Long vendorId;
 
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long version;
+
     public Product() {
     }
 
@@ -66,4 +93,12 @@ public class Product {
     public void setVendorId(Long vendorId) {
         this.vendorId = vendorId;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
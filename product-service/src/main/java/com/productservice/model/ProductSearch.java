@@ -0,0 +1,85 @@
+package com.productservice.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Filters, order and keyset cursor of a product search, bound from query parameters. Results
+ * are ordered by {@code sort} ({@code id} or {@code price}, ties broken by id) in
+ * {@code direction}; to continue after a page, pass the last product's id as {@code after}
+ * and, when sorting by price, its price as {@code afterPrice}.
+ */
+public class ProductSearch {
+
+    private Long vendorId;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private String namePrefix;
+    private String sort = "id";
+    private String direction = "asc";
+    private Long after;
+    private BigDecimal afterPrice;
+
+    public Long getVendorId() {
+        return vendorId;
+    }
+
+    public void setVendorId(Long vendorId) {
+        this.vendorId = vendorId;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public void setDirection(String direction) {
+        this.direction = direction;
+    }
+
+    public Long getAfter() {
+        return after;
+    }
+
+    public void setAfter(Long after) {
+        this.after = after;
+    }
+
+    public BigDecimal getAfterPrice() {
+        return afterPrice;
+    }
+
+    public void setAfterPrice(BigDecimal afterPrice) {
+        this.afterPrice = afterPrice;
+    }
+}
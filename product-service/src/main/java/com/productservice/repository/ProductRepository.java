@@ -1,7 +1,48 @@
 package com.productservice.repository;
 
 import com.productservice.model.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+import java.util.List;
+
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+
+    /** Keyset page as managed entities; the entity baseline that ProjectionBenchmark measures the views against. */
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /** Keyset page of products after {@code after} as read-only views, for GET traffic. */
+    @Transactional(readOnly = true)
+    @Query("select new com.productservice.repository.ProductView(p.id, p.name, p.price, p.image, p.vendorId, p.version)"
+            + " from Product p where p.id > :after order by p.id")
+    List<ProductView> findViewsByIdGreaterThan(@Param("after") Long after, Pageable pageable);
+
+    /** The vendor's products in id order as read-only views, for GET traffic. */
+    @Transactional(readOnly = true)
+    @Query("select new com.productservice.repository.ProductView(p.id, p.name, p.price, p.image, p.vendorId, p.version)"
+            + " from Product p where p.vendorId = :vendorId order by p.id")
+    List<ProductView> findViewsByVendorId(@Param("vendorId") Long vendorId);
+
+    @Transactional(readOnly = true)
+    @Query("select p.id as id, p.version as version from Product p where p.vendorId = :vendorId order by p.id")
+    List<ProductVersion> findVersionsByVendorId(@Param("vendorId") Long vendorId);
+
+    /** Deletes without loading the entity first; returns the number of rows removed. */
+    @Transactional
+    @Modifying
+    @Query("delete from Product p where p.id = :id")
+    int deleteProductById(@Param("id") Long id);
+
+    /**
+     * Deletes up to {@code limit} of the vendor's products in one statement and its own
+     * transaction, so row locks and undo are bounded however large the vendor is.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM product WHERE vendor_id = :vendorId LIMIT :limit", nativeQuery = true)
+    int deleteChunkByVendorId(@Param("vendorId") Long vendorId, @Param("limit") int limit);
 }
@@ -0,0 +1,38 @@
+package com.productservice.repository;
+
+import com.productservice.model.PriceAdjustment;
+import com.productservice.model.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Keyset page of products after the given id, selecting only the named {@code Product}
+     * attributes. Each row maps attribute name to value, in the order the names were given.
+     */
+    List<Map<String, Object>> findFieldsByIdGreaterThan(Long id, int limit, Collection<String> fields);
+
+    /**
+     * Up to {@code limit} products matching the specification, in the given order, as
+     * read-only views.
+     */
+    List<ProductView> findViews(Specification<Product> specification, Sort sort, int limit);
+
+    /**
+     * The id of the {@code n}th product of the vendor after {@code afterId}, in id order, or
+     * {@code null} when fewer than {@code n} remain. Used as the upper bound of an update chunk.
+     */
+    Long findNthIdByVendorIdAfter(Long vendorId, Long afterId, int n);
+
+    /**
+     * Applies the adjustment with one UPDATE to the vendor's products with ids in
+     * {@code (afterId, upToId]}, or all ids after {@code afterId} when {@code upToId} is null,
+     * bumping each row's version. Returns the number of rows updated.
+     */
+    int adjustPrices(Long vendorId, PriceAdjustment adjustment, Long afterId, Long upToId);
+}
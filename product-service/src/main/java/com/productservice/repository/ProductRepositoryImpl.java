@@ -0,0 +1,138 @@
+package com.productservice.repository;
+
+import com.productservice.model.PriceAdjustment;
+import com.productservice.model.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+/**
+ * Tuple projection for sparse fieldsets: only the requested columns are selected and no
+ * entities are materialized, so nothing enters the persistence context. Bulk price changes
+ * are criteria updates and searches project straight into views for the same reason.
+ */
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFieldsByIdGreaterThan(Long id, int limit, Collection<String> fields) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+
+        List<Selection<?>> selections = fields.stream()
+                .map(field -> product.get(field).alias(field))
+                .collect(Collectors.toList());
+
+        query.multiselect(selections)
+                .where(builder.greaterThan(product.get("id"), id))
+                .orderBy(builder.asc(product.get("id")));
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductView> findViews(Specification<Product> specification, Sort sort, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductView> query = builder.createQuery(ProductView.class);
+        Root<Product> product = query.from(Product.class);
+
+        query.select(builder.construct(ProductView.class, product.get("id"), product.get("name"),
+                product.get("price"), product.get("image"), product.get("vendorId"), product.get("version")));
+        Predicate predicate = specification.toPredicate(product, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(toOrders(sort, product, builder));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Long findNthIdByVendorIdAfter(Long vendorId, Long afterId, int n) {
+        List<Long> ids = entityManager.createQuery(
+                "select p.id from Product p where p.vendorId = :vendorId and p.id > :afterId order by p.id", Long.class)
+                .setParameter("vendorId", vendorId)
+                .setParameter("afterId", afterId)
+                .setFirstResult(n - 1)
+                .setMaxResults(1)
+                .getResultList();
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    @Override
+    @Transactional
+    public int adjustPrices(Long vendorId, PriceAdjustment adjustment, Long afterId, Long upToId) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Product> update = builder.createCriteriaUpdate(Product.class);
+        Root<Product> product = update.from(Product.class);
+        Path<BigDecimal> price = product.get("price");
+        Path<Long> version = product.get("version");
+
+        Expression<BigDecimal> newPrice = adjustment.getPercent() != null
+                ? builder.prod(price, BigDecimal.ONE.add(adjustment.getPercent().movePointLeft(2)))
+                : builder.sum(price, adjustment.getAmount());
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(builder.equal(product.get("vendorId"), vendorId));
+        // a product without a price stays without one, so it must not get a new version either
+        where.add(builder.isNotNull(price));
+        where.add(builder.greaterThan(product.get("id"), afterId));
+        if (upToId != null) {
+            where.add(builder.lessThanOrEqualTo(product.get("id"), upToId));
+        }
+        if (adjustment.getMinPrice() != null) {
+            where.add(builder.greaterThanOrEqualTo(price, adjustment.getMinPrice()));
+        }
+        if (adjustment.getMaxPrice() != null) {
+            where.add(builder.lessThanOrEqualTo(price, adjustment.getMaxPrice()));
+        }
+        if (adjustment.getAmount() != null && adjustment.getAmount().signum() < 0) {
+            // a discount larger than the price leaves that product alone
+            where.add(builder.greaterThanOrEqualTo(newPrice, BigDecimal.ZERO));
+        }
+
+        update.set(price, newPrice)
+                .set(version, builder.sum(version, 1L))
+                .where(where.toArray(new Predicate[0]));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
@@ -0,0 +1,120 @@
+package com.productservice.repository;
+
+import com.productservice.model.Product;
+import com.productservice.model.ProductSearch;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Path;
+import java.math.BigDecimal;
+
+/**
+ * Turns a {@link ProductSearch} into a {@link Specification} and {@link Sort} for
+ * {@link ProductRepositoryCustom#findViews}. With a {@code vendorId}, a price range or price
+ * order runs on {@code (vendor_id, price)}; without one, on {@code (price)}. A name prefix runs
+ * on {@code (name)}, and an id order alone on the primary key. InnoDB appends the id to every
+ * secondary index, so the keyset cursor continues along the same index and deep pages cost the
+ * same as the first. A name prefix combined with a vendor or price filter uses only one of
+ * these indexes and filters the rest of the condition row by row.
+ */
+public final class ProductSpecifications {
+
+    private static final String ID = "id";
+    private static final String PRICE = "price";
+
+    private ProductSpecifications() {
+    }
+
+    /** Checks the search and returns its filters and cursor as one specification. */
+    public static Specification<Product> matching(ProductSearch search) {
+        validate(search);
+        return Specification.where(vendorIs(search.getVendorId()))
+                .and(priceFrom(search.getMinPrice()))
+                .and(priceTo(search.getMaxPrice()))
+                .and(nameStartsWith(search.getNamePrefix()))
+                .and(byPrice(search) ? hasPrice() : null)
+                .and(after(search));
+    }
+
+    /** The order matching the cursor: the sort attribute, then id, both in the search direction. */
+    public static Sort sort(ProductSearch search) {
+        Sort.Direction direction = descending(search) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return byPrice(search) ? Sort.by(direction, PRICE, ID) : Sort.by(direction, ID);
+    }
+
+    static Specification<Product> vendorIs(Long vendorId) {
+        return vendorId == null ? null : (product, query, builder) -> builder.equal(product.get("vendorId"), vendorId);
+    }
+
+    static Specification<Product> priceFrom(BigDecimal minPrice) {
+        return minPrice == null ? null
+                : (product, query, builder) -> builder.greaterThanOrEqualTo(product.get(PRICE), minPrice);
+    }
+
+    static Specification<Product> priceTo(BigDecimal maxPrice) {
+        return maxPrice == null ? null
+                : (product, query, builder) -> builder.lessThanOrEqualTo(product.get(PRICE), maxPrice);
+    }
+
+    static Specification<Product> nameStartsWith(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
+        }
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (product, query, builder) -> builder.like(product.get("name"), pattern, '\\');
+    }
+
+    // rows without a price have no place in a price order, so a price cursor could skip them
+    private static Specification<Product> hasPrice() {
+        return (product, query, builder) -> builder.isNotNull(product.get(PRICE));
+    }
+
+    private static Specification<Product> after(ProductSearch search) {
+        Long afterId = search.getAfter();
+        if (afterId == null) {
+            return null;
+        }
+        boolean descending = descending(search);
+
+        if (!byPrice(search)) {
+            return (product, query, builder) -> descending
+                    ? builder.lessThan(product.get(ID), afterId)
+                    : builder.greaterThan(product.get(ID), afterId);
+        }
+
+        BigDecimal afterPrice = search.getAfterPrice();
+        return (product, query, builder) -> {
+            Path<BigDecimal> price = product.get(PRICE);
+            Path<Long> id = product.get(ID);
+            return descending
+                    ? builder.or(builder.lessThan(price, afterPrice),
+                            builder.and(builder.equal(price, afterPrice), builder.lessThan(id, afterId)))
+                    : builder.or(builder.greaterThan(price, afterPrice),
+                            builder.and(builder.equal(price, afterPrice), builder.greaterThan(id, afterId)));
+        };
+    }
+
+    private static void validate(ProductSearch search) {
+        if (!ID.equals(search.getSort()) && !PRICE.equals(search.getSort())) {
+            throw new IllegalArgumentException("sort must be 'id' or 'price'");
+        }
+        if (!"asc".equalsIgnoreCase(search.getDirection()) && !"desc".equalsIgnoreCase(search.getDirection())) {
+            throw new IllegalArgumentException("direction must be 'asc' or 'desc'");
+        }
+        if (byPrice(search) && search.getAfter() != null && search.getAfterPrice() == null) {
+            throw new IllegalArgumentException("afterPrice is required to continue a price-sorted search");
+        }
+        if (search.getMinPrice() != null && search.getMaxPrice() != null
+                && search.getMinPrice().compareTo(search.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("minPrice must not exceed maxPrice");
+        }
+    }
+
+    private static boolean byPrice(ProductSearch search) {
+        return PRICE.equals(search.getSort());
+    }
+
+    private static boolean descending(ProductSearch search) {
+        return "desc".equalsIgnoreCase(search.getDirection());
+    }
+}
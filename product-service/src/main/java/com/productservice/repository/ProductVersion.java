@@ -0,0 +1,9 @@
+package com.productservice.repository;
+
+/** Id and version of a product, enough to compute a list ETag without loading entities. */
+public interface ProductVersion {
+
+    Long getId();
+
+    long getVersion();
+}
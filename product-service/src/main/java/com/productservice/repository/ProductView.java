@@ -0,0 +1,51 @@
+package com.productservice.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only copy of a product row, built by a JPQL constructor expression. No entity is
+ * instantiated, registered in the persistence context or snapshotted for dirty checking.
+ * Serializes exactly like {@link com.productservice.model.Product}.
+ */
+public class ProductView {
+
+    private final Long id;
+    private final String name;
+    private final BigDecimal price;
+    private final String image;
+    private final Long vendorId;
+    private final long version;
+
+    public ProductView(Long id, String name, BigDecimal price, String image, Long vendorId, long version) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.image = image;
+        this.vendorId = vendorId;
+        this.version = version;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public String getImage() {
+        return image;
+    }
+
+    public Long getVendorId() {
+        return vendorId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -1,8 +1,18 @@
 package com.productservice.service;
 
+import com.productservice.model.PriceAdjustment;
 import com.productservice.model.Product;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface ProductService {
     Product getProductById(Long id);
+    List<Product> getProductsByIds(Collection<Long> ids);
     Product updateProduct(Long id, Product product);
+    Product patchProduct(Long id, Map<String, Object> changes, Long expectedVersion);
+    void deleteProduct(Long id);
+    long deleteProductsByVendorId(Long vendorId);
+    long adjustPrices(Long vendorId, PriceAdjustment adjustment);
 }
@@ -1,27 +1,185 @@
 package com.productservice.service;
 
 import com.productservice.exceptions.ResourceNotFoundException;
+import com.productservice.model.PriceAdjustment;
 import com.productservice.model.Product;
 import com.productservice.repository.ProductRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductServiceImplementation implements ProductService {
 
     private final ProductRepository repository;
+    static final int IN_CLAUSE_CHUNK_SIZE = 500;
+    static final int DELETE_CHUNK_SIZE = 5000;
+    static final int UPDATE_CHUNK_SIZE = 5000;
 
     public ProductServiceImplementation(ProductRepository repository) {
         this.repository = repository;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Product getProductById(Long id) {
         return repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
     }
 
+    /**
+     * Loads the products with an IN-list query per chunk of ids, keeping statements and
+     * their plans small for large id sets. Results follow the order of the requested ids,
+     * duplicates are collapsed and unknown ids are skipped.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> getProductsByIds(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<Long, Product> found = new HashMap<>(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinctIds.size()));
+            repository.findAllById(chunk).forEach(product -> found.put(product.getId(), product));
+        }
+
+        return distinctIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Copies the updatable fields onto the stored product, so the version is taken from the
+     * database row rather than the request body and is incremented by the save.
+     */
     @Override
     public Product updateProduct(Long id, Product product) {
-        product.setId(id);
-        return repository.save(product);
+        Product existing = getProductById(id);
+        existing.setName(product.getName());
+        existing.setPrice(product.getPrice());
+        existing.setImage(product.getImage());
+        existing.setVendorId(product.getVendorId());
+        return repository.save(existing);
+    }
+
+    /**
+     * Applies only the supplied fields to the stored product. With {@code @DynamicUpdate} the
+     * flush at commit writes just the changed columns plus the version, guarded by the version
+     * that was read, so a concurrent write fails this one instead of being overwritten. A
+     * non-null {@code expectedVersion} must match the stored version up front.
+     */
+    @Override
+    @Transactional
+    public Product patchProduct(Long id, Map<String, Object> changes, Long expectedVersion) {
+        Product existing = getProductById(id);
+        if (expectedVersion != null && expectedVersion != existing.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Product.class, id);
+        }
+        changes.forEach((field, value) -> apply(existing, field, value));
+        return existing;
+    }
+
+    @Override
+    public void deleteProduct(Long id) {
+        if (repository.deleteProductById(id) == 0) {
+            throw new ResourceNotFoundException("Product", "id", id);
+        }
+    }
+
+    /**
+     * Deletes the vendor's products {@link #DELETE_CHUNK_SIZE} rows per statement until a
+     * chunk comes back short, and returns how many were deleted in total.
+     */
+    @Override
+    public long deleteProductsByVendorId(Long vendorId) {
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = repository.deleteChunkByVendorId(vendorId, DELETE_CHUNK_SIZE);
+            deleted += chunk;
+        } while (chunk == DELETE_CHUNK_SIZE);
+        return deleted;
+    }
+
+    /**
+     * Applies the adjustment with one UPDATE per {@link #UPDATE_CHUNK_SIZE} of the vendor's
+     * products, walking the vendor's ids in order, so no entity is loaded and each chunk
+     * commits on its own. Every updated row's version is incremented. Returns the number of
+     * products changed.
+     */
+    @Override
+    public long adjustPrices(Long vendorId, PriceAdjustment adjustment) {
+        validate(adjustment);
+
+        long affected = 0;
+        Long after = 0L;
+        while (after != null) {
+            Long upTo = repository.findNthIdByVendorIdAfter(vendorId, after, UPDATE_CHUNK_SIZE);
+            affected += repository.adjustPrices(vendorId, adjustment, after, upTo);
+            after = upTo;
+        }
+        return affected;
+    }
+
+    private static void apply(Product product, String field, Object value) {
+        switch (field) {
+            case "name":
+                if (value == null) {
+                    throw new IllegalArgumentException("name cannot be null");
+                }
+                product.setName(value.toString());
+                break;
+            case "price":
+                product.setPrice(value == null ? null : price(value));
+                break;
+            case "image":
+                product.setImage(value == null ? null : value.toString());
+                break;
+            case "vendorId":
+                product.setVendorId(value == null ? null : number(field, value).longValue());
+                break;
+            default:
+                throw new IllegalArgumentException("Field '" + field + "' cannot be patched");
+        }
+    }
+
+    private static BigDecimal price(Object value) {
+        // toString keeps the digits the client sent; doubleValue would not
+        BigDecimal price = new BigDecimal(number("price", value).toString());
+        if (price.signum() < 0) {
+            throw new IllegalArgumentException("price must not be negative");
+        }
+        return price;
+    }
+
+    private static Number number(String field, Object value) {
+        if (!(value instanceof Number)) {
+            throw new IllegalArgumentException(field + " must be a number");
+        }
+        return (Number) value;
+    }
+
+    private static void validate(PriceAdjustment adjustment) {
+        if ((adjustment.getPercent() == null) == (adjustment.getAmount() == null)) {
+            throw new IllegalArgumentException("Exactly one of percent and amount is required");
+        }
+        if (adjustment.getPercent() != null && adjustment.getPercent().compareTo(BigDecimal.valueOf(-100)) <= 0) {
+            throw new IllegalArgumentException("percent must be greater than -100");
+        }
+        if (adjustment.getMinPrice() != null && adjustment.getMaxPrice() != null
+                && adjustment.getMinPrice().compareTo(adjustment.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("minPrice must not exceed maxPrice");
+        }
     }
 }
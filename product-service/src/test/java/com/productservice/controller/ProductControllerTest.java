@@ -5,29 +5,45 @@ import com.productservice.controller.ExceptionHandler.RestExceptionHandler;
 import com.productservice.exceptions.ResourceNotFoundException;
 import com.productservice.model.Product;
 import com.productservice.repository.ProductRepository;
+import com.productservice.repository.ProductVersion;
+import com.productservice.repository.ProductView;
 import com.productservice.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 //import static com.productservice.controller.ProductController.PRODUCT_URL;
 import static java.util.Arrays.asList;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -67,25 +83,159 @@ class ProductControllerTest {
         mockMvc.perform(get( "/").contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-        verify(repository).findAll();
+        verify(repository).findViewsByIdGreaterThan(0L, PageRequest.of(0, 100));
     }
 
     @Test
     @DisplayName("GET / endpoint should list all products test")
     void getAllProducts_ShouldReturn_ListTest() throws Exception {
 
-        List<Product> data = asList(product, new Product());
+        List<ProductView> data = asList(view(product), view(new Product()));
 
-        given(repository.findAll()).willReturn(data);
+        given(repository.findViewsByIdGreaterThan(anyLong(), any())).willReturn(data);
 
         mockMvc.perform(get("/").contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(2)));
     }
 
+    @Test
+    @DisplayName("GET / endpoint should seek past cursor and cap page size test")
+    void getAllProducts_ShouldSeekAfterCursor_AndCapLimitTest() throws Exception {
+
+        mockMvc.perform(get("/").param("after", "50").param("limit", "5000")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(repository).findViewsByIdGreaterThan(50L, PageRequest.of(0, 1000));
+    }
+
+    @Test
+    @DisplayName("GET /?fields= endpoint should project only the requested fields test")
+    void getProductFields_ShouldProjectRequestedFieldsTest() throws Exception {
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", ID);
+        row.put("version", 0L);
+        row.put("name", NAME);
+        given(repository.findFieldsByIdGreaterThan(anyLong(), anyInt(), any())).willReturn(asList(row));
+
+        mockMvc.perform(get("/").param("fields", "name").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$[0].id", equalTo(ID.intValue())))
+                .andExpect(jsonPath("$[0].name", equalTo(NAME)))
+                .andExpect(jsonPath("$[0].version").doesNotExist())
+                .andExpect(jsonPath("$[0].price").doesNotExist());
+
+        verify(repository).findFieldsByIdGreaterThan(0L, 100, new LinkedHashSet<>(asList("id", "version", "name")));
+        verify(repository, never()).findViewsByIdGreaterThan(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("GET /?fields= endpoint should reject unknown fields test")
+    void getProductFields_ShouldRejectUnknownFieldTest() throws Exception {
+
+        mockMvc.perform(get("/").param("fields", "name,secret").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(repository, never()).findFieldsByIdGreaterThan(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("GET /?ids= endpoint should return products by ids test")
+    void getProductsByIds_ShouldReturn_ListTest() throws Exception {
+
+        given(service.getProductsByIds(any())).willReturn(asList(product));
+
+        mockMvc.perform(get("/").param("ids", "1", "2").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", equalTo(ID.intValue())));
+
+        verify(service).getProductsByIds(asList(1L, 2L));
+        verify(repository, never()).findViewsByIdGreaterThan(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("GET /vendors/{vendorId} endpoint should list vendor's products test")
+    void getProductsByVendorId_ShouldReturn_ListTest() throws Exception {
+
+        given(repository.findViewsByVendorId(anyLong())).willReturn(asList(view(product)));
+
+        mockMvc.perform(get("/vendors/1").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].vendorId", equalTo(VENDOR_ID.intValue())));
+
+        verify(repository).findViewsByVendorId(VENDOR_ID);
+    }
+
+    @Test
+    @DisplayName("GET /search endpoint should push filters and price order down to the repository test")
+    void searchProducts_ShouldReturn_ListTest() throws Exception {
+
+        given(repository.findViews(any(), any(), anyInt())).willReturn(asList(view(product)));
+
+        mockMvc.perform(get("/search?vendorId=1&minPrice=5&sort=price&direction=desc&limit=5000"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", equalTo(ID.intValue())));
+
+        verify(repository).findViews(any(), eq(Sort.by(Sort.Direction.DESC, "price", "id")), eq(1000));
+    }
+
+    @Test
+    @DisplayName("GET /search endpoint should reject a price cursor without afterPrice test")
+    void searchProducts_ShouldReturn400Test() throws Exception {
+
+        mockMvc.perform(get("/search?sort=price&after=10"))
+                .andExpect(status().isBadRequest());
+
+        verify(repository, never()).findViews(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("POST /vendors/{vendorId}/prices endpoint should report affected count and catalog version test")
+    void adjustPrices_ShouldReturnCountAndCatalogVersionTest() throws Exception {
+
+        product.setVersion(3L);
+        given(service.adjustPrices(anyLong(), any())).willReturn(1L);
+        given(repository.findVersionsByVendorId(VENDOR_ID)).willReturn(asList(version(ID, 3L)));
+        given(repository.findViewsByVendorId(VENDOR_ID)).willReturn(asList(view(product)));
+
+        String catalogVersion = mockMvc.perform(post("/vendors/1/prices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"percent\": 10}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", equalTo(1)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/vendors/1").header(HttpHeaders.IF_NONE_MATCH, catalogVersion))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("POST /vendors/{vendorId}/prices endpoint should reject an invalid adjustment test")
+    void adjustPrices_ShouldReturn400Test() throws Exception {
+
+        given(service.adjustPrices(anyLong(), any()))
+                .willThrow(new IllegalArgumentException("Exactly one of percent and amount is required"));
+
+        mockMvc.perform(post("/vendors/1/prices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(repository, never()).findVersionsByVendorId(anyLong());
+    }
+
     @Test
     @DisplayName("GET /{id} endpoint should return product by id test")
     void getProductById_ShouldReturn200Test() throws Exception {
 
+        given(service.getProductById(anyLong())).willReturn(product);
+
         mockMvc.perform(get( "/1"))
                 .andExpect(status().isOk());
 
@@ -106,6 +256,48 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.vendorId", equalTo(product.getVendorId().intValue())));
     }
 
+    @Test
+    @DisplayName("GET /{id} endpoint should tag the product with its version test")
+    void getProductById_ShouldReturnVersionETagTest() throws Exception {
+
+        product.setVersion(3L);
+        given(service.getProductById(anyLong())).willReturn(product);
+
+        mockMvc.perform(get("/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    @DisplayName("GET /{id} endpoint should return 304 when If-None-Match matches test")
+    void getProductById_ShouldReturnNotModifiedTest() throws Exception {
+
+        product.setVersion(3L);
+        given(service.getProductById(anyLong())).willReturn(product);
+
+        mockMvc.perform(get("/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET / endpoint should change its ETag when a listed product changes test")
+    void getAllProducts_ShouldChangeETagOnUpdateTest() throws Exception {
+
+        given(repository.findViewsByIdGreaterThan(anyLong(), any())).willReturn(asList(view(product)));
+        String etag = mockMvc.perform(get("/"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        product.setVersion(product.getVersion() + 1);
+        given(repository.findViewsByIdGreaterThan(anyLong(), any())).willReturn(asList(view(product)));
+        mockMvc.perform(get("/").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
     @Test
     @DisplayName("POST / endpoint should return 201 test")
     void createrProduct_ShouldReturn201Test() throws Exception {
@@ -170,13 +362,79 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.vendorId", equalTo(product.getVendorId().intValue())));
     }
 
+    @Test
+    @DisplayName("PATCH /{id} endpoint should pass the If-Match version and return the new ETag test")
+    void patchProduct_ShouldReturnPatchedProductTest() throws Exception {
+
+        product.setVersion(4L);
+        given(service.patchProduct(anyLong(), any(), any())).willReturn(product);
+
+        mockMvc.perform(patch("/1")
+                .contentType("application/merge-patch+json")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .content("{\"price\": 12.5}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.name", equalTo(NAME)));
+
+        verify(service).patchProduct(ID, Collections.singletonMap("price", 12.5), 3L);
+    }
+
+    @Test
+    @DisplayName("PATCH /{id} endpoint should return 412 on a version conflict test")
+    void patchProduct_ShouldReturn412Test() throws Exception {
+
+        given(service.patchProduct(anyLong(), any(), any()))
+                .willThrow(new ObjectOptimisticLockingFailureException(Product.class, ID));
+
+        mockMvc.perform(patch("/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .content("{\"name\": \"renamed\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("PATCH /{id} endpoint should return 400 for fields that cannot be patched test")
+    void patchProduct_ShouldReturn400Test() throws Exception {
+
+        given(service.patchProduct(anyLong(), any(), any()))
+                .willThrow(new IllegalArgumentException("Field 'id' cannot be patched"));
+
+        mockMvc.perform(patch("/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": 2}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("DELETE /{id} endpoint should delete product test")
     void deleteProductTest() throws Exception {
         mockMvc.perform(delete( "/1"))
                 .andExpect(status().isOk());
 
-        verify(repository).deleteById(anyLong());
+        verify(service).deleteProduct(1L);
+    }
+
+    @Test
+    @DisplayName("DELETE /{id} endpoint should return not found when nothing was deleted test")
+    void deleteProduct_ShouldReturnNotFoundTest() throws Exception {
+        willThrow(new ResourceNotFoundException("Product", "id", 1L)).given(service).deleteProduct(anyLong());
+
+        mockMvc.perform(delete( "/1"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("DELETE /vendors/{vendorId} endpoint should report deleted count test")
+    void deleteProductsByVendorIdTest() throws Exception {
+        given(service.deleteProductsByVendorId(anyLong())).willReturn(12345L);
+
+        mockMvc.perform(delete("/vendors/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", equalTo(12345)));
+
+        verify(service).deleteProductsByVendorId(7L);
     }
 
     @Test
@@ -191,4 +449,22 @@ class ProductControllerTest {
         verify(service).getProductById(anyLong());
     }
 
-}
\ No newline at end of file
+    private static ProductVersion version(Long id, long version) {
+        return new ProductVersion() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public long getVersion() {
+                return version;
+            }
+        };
+    }
+
+    private static ProductView view(Product product) {
+        return new ProductView(product.getId(), product.getName(), product.getPrice(), product.getImage(),
+                product.getVendorId(), product.getVersion());
+    }
+}
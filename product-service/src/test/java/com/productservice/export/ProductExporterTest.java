@@ -0,0 +1,61 @@
+package com.productservice.export;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductExporterTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE product (id BIGINT PRIMARY KEY, name VARCHAR(255), price DECIMAL(19, 2), "
+                + "image VARCHAR(255), vendor_id BIGINT, version BIGINT DEFAULT 0 NOT NULL)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Export should write one JSON object per product line in id order test")
+    void exportTest() throws Exception {
+        jdbcTemplate.update("INSERT INTO product (id, name, price, image, vendor_id, version) VALUES (2, 'Second', 2.50, 'b', NULL, 1)");
+        jdbcTemplate.update("INSERT INTO product (id, name, price, image, vendor_id, version) VALUES (1, 'First', 10.00, 'a', 7, 0)");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ProductExporter(jdbcTemplate).export(out);
+
+        assertEquals(
+                "{\"id\":1,\"name\":\"First\",\"price\":10.00,\"image\":\"a\",\"vendorId\":7,\"version\":0}\n"
+                        + "{\"id\":2,\"name\":\"Second\",\"price\":2.50,\"image\":\"b\",\"vendorId\":null,\"version\":1}\n",
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Export of an empty catalog should write nothing test")
+    void export_EmptyCatalogTest() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ProductExporter(jdbcTemplate).export(out);
+
+        assertEquals(0, out.size());
+    }
+}
@@ -0,0 +1,134 @@
+package com.productservice.importer;
+
+import com.productservice.repository.IdSequences;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductImporterTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ProductImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE product (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                + "price DECIMAL(19, 2), image VARCHAR(255), vendor_id BIGINT, version BIGINT DEFAULT 0 NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE id_sequences (sequence_name VARCHAR(255) PRIMARY KEY, next_val BIGINT)");
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(database);
+        IdSequences idSequences = new IdSequences(jdbcTemplate, transactionManager);
+        idSequences.seed();
+        importer = new ProductImporter(jdbcTemplate, idSequences, transactionManager, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("CSV import should insert every valid row across batches test")
+    void importCsvTest() throws Exception {
+        ImportResult result = importer.importCsv(stream(
+                "vendorId,name,price,image\n"
+                        + "1,First,10.00,a\n"
+                        + "1,\"Second, with comma\",2.50,\n"
+                        + "2,Third,3,c\n"));
+
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getFailed());
+        assertEquals(3, count());
+        assertEquals("Second, with comma", jdbcTemplate.queryForObject(
+                "SELECT name FROM product WHERE price = 2.50", String.class));
+        assertEquals(new BigDecimal("3.00"), jdbcTemplate.queryForObject(
+                "SELECT price FROM product WHERE name = 'Third'", BigDecimal.class));
+    }
+
+    @Test
+    @DisplayName("CSV import should skip and report invalid rows by line test")
+    void importCsv_InvalidRowsTest() throws Exception {
+        ImportResult result = importer.importCsv(stream(
+                "name,price,image,vendorId\n"
+                        + "First,10.00,a,1\n"
+                        + "Second,cheap,b,1\n"
+                        + ",1.00,c,1\n"
+                        + "Fourth,4.00,d,1\n"));
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getLine());
+        assertEquals("price is not a number: cheap", result.getErrors().get(0).getMessage());
+        assertEquals(4, result.getErrors().get(1).getLine());
+        assertEquals("name is required", result.getErrors().get(1).getMessage());
+        assertEquals(2, count());
+    }
+
+    @Test
+    @DisplayName("CSV import without the required columns should be rejected test")
+    void importCsv_MissingColumnsTest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importer.importCsv(stream("name,image\nFirst,a\n")));
+    }
+
+    @Test
+    @DisplayName("NDJSON import should insert valid lines and report malformed ones test")
+    void importNdjsonTest() throws Exception {
+        ImportResult result = importer.importNdjson(stream(
+                "{\"name\":\"First\",\"price\":10.00,\"image\":\"a\",\"vendorId\":1}\n"
+                        + "\n"
+                        + "{\"name\":\"Second\",\"price\":\n"
+                        + "{\"name\":\"Third\",\"price\":3,\"vendorId\":2}\n"));
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getLine());
+        assertEquals(2, count());
+    }
+
+    @Test
+    @DisplayName("A batch rejected by the database should be rolled back and reported test")
+    void import_RejectedBatchTest() throws Exception {
+        jdbcTemplate.execute("ALTER TABLE product ADD CONSTRAINT uk_name UNIQUE (name)");
+
+        ImportResult result = importer.importCsv(stream(
+                "name,price,vendorId\n"
+                        + "First,1,1\n"
+                        + "Second,2,1\n"
+                        + "Third,3,1\n"
+                        + "Third,3,1\n"));
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(4, result.getErrors().get(0).getLine());
+        assertEquals(5, result.getErrors().get(1).getLine());
+        assertEquals(2, count());
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product", Integer.class);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
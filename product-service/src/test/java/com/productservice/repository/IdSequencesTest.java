@@ -0,0 +1,87 @@
+package com.productservice.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdSequencesTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private IdSequences idSequences;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE product (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE id_sequences (sequence_name VARCHAR(255) PRIMARY KEY, next_val BIGINT)");
+        idSequences = new IdSequences(jdbcTemplate, new DataSourceTransactionManager(database));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Seed should start the sequence after the existing ids test")
+    void seedTest() {
+        jdbcTemplate.update("INSERT INTO product (id) VALUES (41)");
+
+        idSequences.seed();
+
+        assertEquals(42L, nextVal());
+    }
+
+    @Test
+    @DisplayName("Seed of an empty table should start the sequence at 1 test")
+    void seed_EmptyTableTest() {
+        idSequences.seed();
+
+        assertEquals(1L, nextVal());
+    }
+
+    @Test
+    @DisplayName("Seed should never move the sequence backwards test")
+    void seed_AheadOfTableTest() {
+        jdbcTemplate.update("INSERT INTO id_sequences (sequence_name, next_val) VALUES ('product', 500)");
+        jdbcTemplate.update("INSERT INTO product (id) VALUES (7)");
+
+        idSequences.seed();
+
+        assertEquals(500L, nextVal());
+    }
+
+    @Test
+    @DisplayName("Allocate should hand out consecutive, non-overlapping blocks test")
+    void allocateTest() {
+        idSequences.seed();
+
+        assertEquals(1L, idSequences.allocate(IdSequences.PRODUCT, 10));
+        assertEquals(11L, idSequences.allocate(IdSequences.PRODUCT, 50));
+        assertEquals(61L, nextVal());
+    }
+
+    @Test
+    @DisplayName("Allocate from an unseeded sequence should fail test")
+    void allocate_UnseededTest() {
+        assertThrows(IllegalStateException.class, () -> idSequences.allocate(IdSequences.PRODUCT, 1));
+    }
+
+    private long nextVal() {
+        return jdbcTemplate.queryForObject(
+                "SELECT next_val FROM id_sequences WHERE sequence_name = 'product'", Long.class);
+    }
+}
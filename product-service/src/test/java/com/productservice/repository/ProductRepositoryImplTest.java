@@ -0,0 +1,99 @@
+package com.productservice.repository;
+
+import com.productservice.model.PriceAdjustment;
+import com.productservice.model.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+class ProductRepositoryImplTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Test
+    @DisplayName("Percent adjustment should change and version only the vendor's priced products test")
+    void adjustPrices_PercentTest() {
+        Product first = save(new Product("First", new BigDecimal("10.00"), "a", 1L));
+        Product unpriced = save(new Product("Unpriced", null, "b", 1L));
+        Product second = save(new Product("Second", new BigDecimal("20.00"), "c", 1L));
+        Product otherVendor = save(new Product("Other", new BigDecimal("10.00"), "d", 2L));
+
+        int affected = repository.adjustPrices(1L,
+                new PriceAdjustment(BigDecimal.TEN, null, null, null), 0L, null);
+
+        assertEquals(2, affected);
+        assertPrice("11.00", 1L, first);
+        assertPrice("22.00", 1L, second);
+        assertPrice("10.00", 0L, otherVendor);
+        Product reloaded = reload(unpriced);
+        assertNull(reloaded.getPrice());
+        assertEquals(0L, reloaded.getVersion());
+    }
+
+    @Test
+    @DisplayName("Amount adjustment should respect the price range and skip discounts below zero test")
+    void adjustPrices_AmountTest() {
+        Product cheap = save(new Product("Cheap", new BigDecimal("3.00"), "a", 1L));
+        Product mid = save(new Product("Mid", new BigDecimal("15.00"), "b", 1L));
+        Product expensive = save(new Product("Expensive", new BigDecimal("500.00"), "c", 1L));
+
+        int affected = repository.adjustPrices(1L,
+                new PriceAdjustment(null, new BigDecimal("-5"), null, new BigDecimal("100")), 0L, null);
+
+        assertEquals(1, affected);
+        assertPrice("3.00", 0L, cheap);
+        assertPrice("10.00", 1L, mid);
+        assertPrice("500.00", 0L, expensive);
+    }
+
+    @Test
+    @DisplayName("Chunk bounds should split the vendor's products by id test")
+    void adjustPrices_ChunkedTest() {
+        Product first = save(new Product("First", BigDecimal.ONE, "a", 1L));
+        save(new Product("Other", BigDecimal.ONE, "b", 2L));
+        Product second = save(new Product("Second", BigDecimal.ONE, "c", 1L));
+        Product third = save(new Product("Third", BigDecimal.ONE, "d", 1L));
+
+        Long upTo = repository.findNthIdByVendorIdAfter(1L, 0L, 2);
+        assertEquals(second.getId(), upTo);
+        assertEquals(third.getId(), repository.findNthIdByVendorIdAfter(1L, upTo, 1));
+        assertNull(repository.findNthIdByVendorIdAfter(1L, upTo, 2));
+
+        PriceAdjustment adjustment = new PriceAdjustment(null, BigDecimal.ONE, null, null);
+        assertEquals(2, repository.adjustPrices(1L, adjustment, 0L, upTo));
+        assertEquals(1, repository.adjustPrices(1L, adjustment, upTo, null));
+
+        assertPrice("2.00", 1L, first);
+        assertPrice("2.00", 1L, second);
+        assertPrice("2.00", 1L, third);
+    }
+
+    private Product save(Product product) {
+        return entityManager.persistAndFlush(product);
+    }
+
+    private Product reload(Product product) {
+        entityManager.clear();
+        return entityManager.find(Product.class, product.getId());
+    }
+
+    private void assertPrice(String price, long version, Product product) {
+        Product reloaded = reload(product);
+        assertEquals(0, new BigDecimal(price).compareTo(reloaded.getPrice()), reloaded.getName());
+        assertEquals(version, reloaded.getVersion(), reloaded.getName());
+    }
+}
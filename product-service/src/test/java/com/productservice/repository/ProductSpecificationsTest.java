@@ -0,0 +1,137 @@
+package com.productservice.repository;
+
+import com.productservice.model.Product;
+import com.productservice.model.ProductSearch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+class ProductSpecificationsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Test
+    @DisplayName("Ascending price search should page through equal prices by id and skip unpriced products test")
+    void search_ByPriceAscendingTest() {
+        Long tieA = save("Tie A", "5.00", 1L);
+        Long expensive = save("Expensive", "7.00", 1L);
+        Long tieB = save("Tie B", "5.00", 1L);
+        save("Unpriced", null, 1L);
+        Long tieC = save("Tie C", "5.00", 1L);
+        save("Other vendor", "1.00", 2L);
+
+        ProductSearch search = search(1L, "price", "asc");
+
+        assertEquals(asList(tieA, tieB, tieC, expensive), pageThrough(search, 2));
+    }
+
+    @Test
+    @DisplayName("Descending price search should page through equal prices by descending id test")
+    void search_ByPriceDescendingTest() {
+        Long tieA = save("Tie A", "5.00", 1L);
+        Long tieB = save("Tie B", "5.00", 1L);
+        Long expensive = save("Expensive", "7.00", 1L);
+        save("Unpriced", null, 1L);
+        Long tieC = save("Tie C", "5.00", 1L);
+        Long cheap = save("Cheap", "1.00", 1L);
+
+        ProductSearch search = search(1L, "price", "desc");
+
+        assertEquals(asList(expensive, tieC, tieB, tieA, cheap), pageThrough(search, 2));
+    }
+
+    @Test
+    @DisplayName("Price range and id order should apply together across pages test")
+    void search_ByIdWithinPriceRangeTest() {
+        Long first = save("First", "5.00", 1L);
+        save("Too cheap", "1.00", 1L);
+        Long second = save("Second", "10.00", 1L);
+        save("Too expensive", "50.00", 1L);
+        Long third = save("Third", "20.00", 1L);
+
+        ProductSearch search = search(1L, "id", "desc");
+        search.setMinPrice(new BigDecimal("5"));
+        search.setMaxPrice(new BigDecimal("20"));
+
+        assertEquals(asList(third, second, first), pageThrough(search, 1));
+    }
+
+    @Test
+    @DisplayName("Name prefix should match wildcard and escape characters literally test")
+    void search_ByNamePrefixTest() {
+        Long underscore = save("a_b", "1.00", 1L);
+        save("axb", "1.00", 1L);
+        Long percent = save("a%b", "1.00", 1L);
+        Long backslash = save("a\\b", "1.00", 1L);
+
+        assertEquals(Collections.singletonList(underscore), prefixed("a_"));
+        assertEquals(Collections.singletonList(percent), prefixed("a%"));
+        assertEquals(Collections.singletonList(backslash), prefixed("a\\"));
+        assertEquals(4, prefixed("a").size());
+    }
+
+    @Test
+    @DisplayName("Continuing a price search without afterPrice should be rejected test")
+    void matching_PriceCursorWithoutPriceTest() {
+        ProductSearch search = search(1L, "price", "asc");
+        search.setAfter(10L);
+
+        assertThrows(IllegalArgumentException.class, () -> ProductSpecifications.matching(search));
+    }
+
+    private List<Long> pageThrough(ProductSearch search, int limit) {
+        List<Long> ids = new ArrayList<>();
+        List<ProductView> page;
+        do {
+            page = repository.findViews(ProductSpecifications.matching(search), ProductSpecifications.sort(search), limit);
+            page.forEach(view -> ids.add(view.getId()));
+            if (!page.isEmpty()) {
+                ProductView last = page.get(page.size() - 1);
+                search.setAfter(last.getId());
+                search.setAfterPrice(last.getPrice());
+            }
+        } while (page.size() == limit);
+        return ids;
+    }
+
+    private List<Long> prefixed(String prefix) {
+        ProductSearch search = new ProductSearch();
+        search.setNamePrefix(prefix);
+        return repository.findViews(ProductSpecifications.matching(search), ProductSpecifications.sort(search), 100)
+                .stream()
+                .map(ProductView::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static ProductSearch search(Long vendorId, String sort, String direction) {
+        ProductSearch search = new ProductSearch();
+        search.setVendorId(vendorId);
+        search.setSort(sort);
+        search.setDirection(direction);
+        return search;
+    }
+
+    private Long save(String name, String price, Long vendorId) {
+        Product product = new Product(name, price == null ? null : new BigDecimal(price), null, vendorId);
+        return entityManager.persistAndGetId(product, Long.class);
+    }
+}
@@ -1,6 +1,7 @@
 package com.productservice.service;
 
 import com.productservice.exceptions.ResourceNotFoundException;
+import com.productservice.model.PriceAdjustment;
 import com.productservice.model.Product;
 import com.productservice.repository.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,16 +9,25 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
+import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 
 class ProductServiceImplementationTest {
 
@@ -71,24 +81,172 @@ class ProductServiceImplementationTest {
         assertEquals("Product not found with id: '1'", e.getMessage());
     }
 
+    @Test
+    @DisplayName("Find products by ids should keep request order and skip unknown ids test")
+    void getProductsByIdsTest() {
+        Product second = new Product(NAME, PRICE, IMAGE, VENDOR_ID);
+        second.setId(2L);
+
+        given(repository.findAllById(any())).willReturn(asList(product, second));
+
+        List<Product> foundProducts = service.getProductsByIds(asList(2L, ID, ID, 9999L));
+
+        then(repository).should().findAllById(asList(2L, ID, 9999L));
+        assertEquals(asList(second, product), foundProducts);
+    }
+
+    @Test
+    @DisplayName("Find products by ids should chunk large IN-lists test")
+    void getProductsByIds_ShouldChunkTest() {
+        List<Long> ids = LongStream.rangeClosed(1, ProductServiceImplementation.IN_CLAUSE_CHUNK_SIZE + 1)
+                .boxed()
+                .collect(Collectors.toList());
+
+        given(repository.findAllById(any())).willReturn(Collections.emptyList());
+
+        List<Product> foundProducts = service.getProductsByIds(ids);
+
+        then(repository).should(times(2)).findAllById(any());
+        then(repository).should().findAllById(Collections.singletonList((long) ids.size()));
+        assertTrue(foundProducts.isEmpty());
+    }
+
     @Test
     @DisplayName("Update product test")
     void updateProductTest() {
-        Product updateData = new Product();
-        updateData.setId(ID);
+        Product updateData = new Product("Updated_Product", new BigDecimal(12.00), "updatedImage", 2L);
+        product.setVersion(4L);
 
-        given(repository.save(any())).willReturn(updateData);
+        given(repository.findById(ID)).willReturn(Optional.of(product));
+        given(repository.save(any())).willAnswer(invocation -> invocation.getArgument(0));
 
-        Product updatedProduct = service.updateProduct(1L, product);
+        Product updatedProduct = service.updateProduct(1L, updateData);
 
-        then(repository).should().save(any());
+        then(repository).should().save(product);
         assertNotNull(updatedProduct);
         assertAll(
-                () -> assertEquals(updateData.getId(), updatedProduct.getId()),
+                () -> assertEquals(ID, updatedProduct.getId()),
                 () -> assertEquals(updateData.getName(), updatedProduct.getName()),
                 () -> assertEquals(updateData.getPrice(), updatedProduct.getPrice()),
                 () -> assertEquals(updateData.getImage(), updatedProduct.getImage()),
-                () -> assertEquals(updateData.getVendorId(), updatedProduct.getVendorId())
+                () -> assertEquals(updateData.getVendorId(), updatedProduct.getVendorId()),
+                () -> assertEquals(4L, updatedProduct.getVersion())
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Update product that does not exist test")
+    void updateProduct_NotFoundTest() {
+        given(repository.findById(anyLong())).willReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.updateProduct(1L, product));
+
+        then(repository).should(never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Delete product test")
+    void deleteProductTest() {
+        given(repository.deleteProductById(ID)).willReturn(1);
+
+        service.deleteProduct(ID);
+
+        then(repository).should().deleteProductById(ID);
+        then(repository).should(never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Delete product that does not exist test")
+    void deleteProduct_NotFoundTest() {
+        given(repository.deleteProductById(anyLong())).willReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.deleteProduct(ID));
+    }
+
+    @Test
+    @DisplayName("Delete products by vendor id should delete in chunks until a short chunk test")
+    void deleteProductsByVendorIdTest() {
+        int chunk = ProductServiceImplementation.DELETE_CHUNK_SIZE;
+        given(repository.deleteChunkByVendorId(VENDOR_ID, chunk)).willReturn(chunk, chunk, 42);
+
+        long deleted = service.deleteProductsByVendorId(VENDOR_ID);
+
+        then(repository).should(times(3)).deleteChunkByVendorId(VENDOR_ID, chunk);
+        assertEquals(2L * chunk + 42, deleted);
+    }
+
+    @Test
+    @DisplayName("Adjust prices should update chunk by chunk until the last open-ended chunk test")
+    void adjustPricesTest() {
+        int chunk = ProductServiceImplementation.UPDATE_CHUNK_SIZE;
+        PriceAdjustment adjustment = new PriceAdjustment(BigDecimal.TEN, null, null, null);
+        given(repository.findNthIdByVendorIdAfter(VENDOR_ID, 0L, chunk)).willReturn(5000L);
+        given(repository.findNthIdByVendorIdAfter(VENDOR_ID, 5000L, chunk)).willReturn(null);
+        given(repository.adjustPrices(VENDOR_ID, adjustment, 0L, 5000L)).willReturn(chunk);
+        given(repository.adjustPrices(VENDOR_ID, adjustment, 5000L, null)).willReturn(17);
+
+        long affected = service.adjustPrices(VENDOR_ID, adjustment);
+
+        then(repository).should(times(2)).adjustPrices(any(), any(), anyLong(), any());
+        assertEquals(chunk + 17L, affected);
+    }
+
+    @Test
+    @DisplayName("Adjust prices should reject invalid adjustments before touching the database test")
+    void adjustPrices_InvalidTest() {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> service.adjustPrices(VENDOR_ID, new PriceAdjustment())),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> service.adjustPrices(VENDOR_ID, new PriceAdjustment(BigDecimal.ONE, BigDecimal.ONE, null, null))),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> service.adjustPrices(VENDOR_ID, new PriceAdjustment(new BigDecimal(-100), null, null, null))),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> service.adjustPrices(VENDOR_ID, new PriceAdjustment(null, BigDecimal.ONE, BigDecimal.TEN, BigDecimal.ONE))));
+
+        then(repository).should(never()).adjustPrices(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Patch product should change only the supplied fields test")
+    void patchProductTest() {
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("price", 12.5);
+        changes.put("image", null);
+        given(repository.findById(ID)).willReturn(Optional.of(product));
+
+        Product patched = service.patchProduct(ID, changes, 0L);
+
+        assertEquals(NAME, patched.getName());
+        assertEquals(new BigDecimal("12.5"), patched.getPrice());
+        assertNull(patched.getImage());
+        assertEquals(VENDOR_ID, patched.getVendorId());
+        then(repository).should(never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Patch product with a stale version should fail before changing anything test")
+    void patchProduct_StaleVersionTest() {
+        product.setVersion(5L);
+        given(repository.findById(ID)).willReturn(Optional.of(product));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> service.patchProduct(ID, Collections.singletonMap("name", "renamed"), 4L));
+
+        assertEquals(NAME, product.getName());
+    }
+
+    @Test
+    @DisplayName("Patch product should reject fields that cannot be patched test")
+    void patchProduct_InvalidFieldTest() {
+        given(repository.findById(ID)).willReturn(Optional.of(product));
+
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> service.patchProduct(ID, Collections.singletonMap("version", 9), null)),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> service.patchProduct(ID, Collections.singletonMap("price", "free"), null)),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> service.patchProduct(ID, Collections.singletonMap("name", null), null)));
+    }
+}
@@ -1,6 +1,8 @@
 package com.vendorservice.controller.ExceptionHandler;
 
 import com.vendorservice.exception.ResourceNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,4 +17,16 @@ public class RestExceptionHandler {
     public ResponseEntity<Object> handleNotFoundException(Exception exception, WebRequest request) {
         return new ResponseEntity<>(exception.getMessage(), new HttpHeaders(), HttpStatus.NOT_FOUND);
     }
+
+    // If-Match named another version, or a concurrent write got there first
+    @ExceptionHandler({OptimisticLockingFailureException.class})
+    public ResponseEntity<Object> handleOptimisticLockingFailure(Exception exception, WebRequest request) {
+        return new ResponseEntity<>(exception.getMessage(), new HttpHeaders(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // the name folds to the same key as another vendor's
+    @ExceptionHandler({DataIntegrityViolationException.class})
+    public ResponseEntity<Object> handleDataIntegrityViolation(Exception exception, WebRequest request) {
+        return new ResponseEntity<>("A vendor with that name already exists", new HttpHeaders(), HttpStatus.CONFLICT);
+    }
 }
@@ -2,13 +2,20 @@ package com.vendorservice.controller;
 
 import com.vendorservice.model.Vendor;
 import com.vendorservice.repository.VendorRepository;
+import com.vendorservice.repository.VendorView;
 import com.vendorservice.service.VendorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
 
 //import static com.vendorservice.controller.VendorController.VENDOR_URL;
 
@@ -19,6 +26,8 @@ public class VendorController {
     private final VendorService service;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(VendorController.class);
+    private static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_BULK_SIZE = 10_000;
 
     public VendorController(VendorRepository repository, VendorService service) {
         this.repository = repository;
@@ -26,17 +35,27 @@ public class VendorController {
     }
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<Vendor> getAllVendors() {
-        LOGGER.info("Gathering vendors...");
-        return repository.findAll();
+    public ResponseEntity<List<VendorView>> getAllVendors(@RequestParam(defaultValue = "0") Long after,
+                                                          @RequestParam(defaultValue = "100") Integer limit) {
+        LOGGER.info("Gathering vendors after: " + after);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<VendorView> vendors = repository.findViewsByIdGreaterThan(after, PageRequest.of(0, pageSize));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(vendors, VendorView::getId, VendorView::getVersion))
+                .body(vendors);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<Vendor>> getVendorsByIds(@RequestParam List<Long> ids) {
+        LOGGER.info("Gathering " + ids.size() + " vendors by id");
+        return withETag(service.getVendorsByIds(ids));
     }
 
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public Vendor getVendorById(@PathVariable Long id) {
+    public ResponseEntity<Vendor> getVendorById(@PathVariable Long id) {
         LOGGER.info("Gathering vendor: " + id);
-        return service.getVendorById(id);
+        Vendor vendor = service.getVendorById(id);
+        return ResponseEntity.ok().eTag(ETags.of(vendor.getVersion())).body(vendor);
     }
 
     @PostMapping
@@ -46,15 +65,53 @@ public class VendorController {
         return repository.save(vendor);
     }
 
+    @PostMapping("/bulk")
+    public List<Vendor> upsertVendors(@RequestBody List<Vendor> vendors) {
+        LOGGER.info("Upserting " + vendors.size() + " vendors ...");
+        if (vendors.size() > MAX_BULK_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BULK_SIZE + " vendors per request");
+        }
+        try {
+            return service.upsertVendors(vendors);
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent upsert committed one of the names first; a fresh transaction finds it
+            LOGGER.info("Retrying vendor upsert after a concurrent insert");
+            return service.upsertVendors(vendors);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}")
     public Vendor updateVendorById(@PathVariable Long id, @RequestBody Vendor vendor) {
         LOGGER.info("Updating vendor: " + id);
         return service.updateVendor(id, vendor);
     }
 
+    @PatchMapping(value = "/{id}", consumes = {"application/json", "application/merge-patch+json"})
+    public ResponseEntity<Vendor> patchVendorById(@PathVariable Long id, @RequestBody Map<String, Object> changes,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        LOGGER.info("Patching vendor: " + id + " fields " + changes.keySet());
+        Vendor vendor;
+        try {
+            vendor = service.patchVendor(id, changes, ETags.version(ifMatch));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return ResponseEntity.ok().eTag(ETags.of(vendor.getVersion())).body(vendor);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteVendorById(@PathVariable Long id) {
         LOGGER.info("Deleting vendor: " + id);
         repository.deleteById(id);
     }
+
+    // a matching If-None-Match turns these into 304s before the body is written
+    private static ResponseEntity<List<Vendor>> withETag(List<Vendor> vendors) {
+        return ResponseEntity.ok()
+                .eTag(ETags.of(vendors, Vendor::getId, Vendor::getVersion))
+                .body(vendors);
+    }
 }
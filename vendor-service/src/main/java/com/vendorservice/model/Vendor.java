@@ -1,23 +1,64 @@
 package com.vendorservice.model;
 
+import com.vendorservice.repository.IdSequences;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.Version;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 @Entity
+@DynamicUpdate
+@Table(indexes = @Index(name = "uk_vendor_name_key", columnList = "name_key", unique = true))
 public class Vendor {
 
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern TRAILING_SPACES = Pattern.compile(" +$");
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "vendor_id")
+    @GenericGenerator(name = "vendor_id", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+            @Parameter(name = "table_name", value = "id_sequences"),
+            @Parameter(name = "segment_column_name", value = "sequence_name"),
+            @Parameter(name = "value_column_name", value = "next_val"),
+            @Parameter(name = "segment_value", value = IdSequences.VENDOR),
+            @Parameter(name = "increment_size", value = IdSequences.INCREMENT_SIZE),
+            @Parameter(name = "optimizer", value = "pooled-lo")})
     private Long id;
     private String name;
 
+    /** {@link #nameKey(String)} of the name, kept in step by {@link #setName(String)}. */
+    @Column(name = "name_key")
+    private String nameKey;
+
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long version;
+
     public Vendor() {
     }
 
     public Vendor(String name) {
-        this.name = name;
+        setName(name);
+    }
+
+    /**
+     * The name folded to the form two vendors must not share: case- and accent-insensitive and
+     * ignoring trailing spaces, so "Acme", "acme " and "Acmé" are one vendor. It is computed
+     * here rather than left to the column collation, so H2 and MySQL enforce the same rule.
+     */
+    public static String nameKey(String name) {
+        String unaccented = COMBINING_MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return TRAILING_SPACES.matcher(unaccented.toLowerCase(Locale.ROOT)).replaceAll("");
     }
 
     public Long getId() {
@@ -34,5 +75,14 @@ public class Vendor {
 
     public void setName(String name) {
         this.name = name;
+        this.nameKey = name == null ? null : nameKey(name);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
     }
 }
@@ -0,0 +1,68 @@
+package com.vendorservice.repository;
+
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+/**
+ * Owns the {@code id_sequences} table behind the pooled-lo table generator on
+ * {@link com.vendorservice.model.Vendor}. Each row holds the next unallocated id of one
+ * sequence, and Hibernate reserves {@link #INCREMENT_SIZE} ids per round trip instead of reading
+ * one back after every insert, which is what lets it batch inserts.
+ *
+ * <p>On startup each sequence is raised to one past the largest id already in its table, so
+ * rows created under the old identity column keep their ids and new rows never collide
+ * with them.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequences {
+
+    public static final String VENDOR = "vendor";
+    /** Ids reserved per round trip; a String so the entity's generator annotation can use it. */
+    public static final String INCREMENT_SIZE = "50";
+
+    private static final String SELECT =
+            "SELECT next_val FROM id_sequences WHERE sequence_name = ? FOR UPDATE";
+    private static final String INSERT = "INSERT INTO id_sequences (sequence_name, next_val) VALUES (?, ?)";
+    private static final String UPDATE = "UPDATE id_sequences SET next_val = ? WHERE sequence_name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public IdSequences(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void seed() {
+        seed(VENDOR, "vendor");
+    }
+
+    void seed(String sequence, String table) {
+        Long next = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+        try {
+            transactionTemplate.execute(status -> {
+                List<Long> current = jdbcTemplate.queryForList(SELECT, Long.class, sequence);
+                if (current.isEmpty()) {
+                    jdbcTemplate.update(INSERT, sequence, next);
+                } else if (current.get(0) < next) {
+                    jdbcTemplate.update(UPDATE, next, sequence);
+                }
+                return null;
+            });
+        } catch (DuplicateKeyException e) {
+            // another instance created the row first; raise it if it is still behind
+            seed(sequence, table);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.vendorservice.repository;
+
+import com.vendorservice.model.Vendor;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills {@code vendor.name_key} for rows written before the column existed, so that they are
+ * found by the bulk upsert like new ones.
+ *
+ * <p>Rows are keyed in id order, one statement each. When several old rows fold to the same
+ * {@link Vendor#nameKey(String)}, the unique index lets only the lowest id take it, which is the
+ * vendor the upsert resolved such names to before the key existed; the others keep a null key.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class VendorNameKeys {
+
+    static final int PAGE_SIZE = 500;
+
+    private static final String SELECT = "SELECT id, name FROM vendor"
+            + " WHERE name_key IS NULL AND name IS NOT NULL AND id > ? ORDER BY id LIMIT ?";
+    private static final String UPDATE = "UPDATE vendor SET name_key = ? WHERE id = ? AND name_key IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VendorNameKeys(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void backfill() {
+        long after = 0;
+        List<Map<String, Object>> rows;
+        do {
+            rows = jdbcTemplate.queryForList(SELECT, after, PAGE_SIZE);
+            for (Map<String, Object> row : rows) {
+                after = ((Number) row.get("id")).longValue();
+                try {
+                    jdbcTemplate.update(UPDATE, Vendor.nameKey((String) row.get("name")), after);
+                } catch (DuplicateKeyException e) {
+                    // a lower id, or a vendor created since, already holds this key
+                }
+            }
+        } while (rows.size() == PAGE_SIZE);
+    }
+}
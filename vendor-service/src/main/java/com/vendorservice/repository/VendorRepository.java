@@ -1,7 +1,23 @@
 package com.vendorservice.repository;
 
 import com.vendorservice.model.Vendor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface VendorRepository extends JpaRepository<Vendor, Long> {
+
+    /** Keyset page of vendors after {@code after} as read-only views, for GET traffic. */
+    @Transactional(readOnly = true)
+    @Query("select new com.vendorservice.repository.VendorView(v.id, v.name, v.version)"
+            + " from Vendor v where v.id > :after order by v.id")
+    List<VendorView> findViewsByIdGreaterThan(@Param("after") Long after, Pageable pageable);
+
+    /** Vendors by {@link Vendor#nameKey(String)}; the key is unique, so at most one per key. */
+    List<Vendor> findByNameKeyIn(Collection<String> nameKeys);
 }
@@ -0,0 +1,31 @@
+package com.vendorservice.repository;
+
+/**
+ * Read-only copy of a vendor row, built by a JPQL constructor expression. No entity is
+ * instantiated, registered in the persistence context or snapshotted for dirty checking.
+ * Serializes exactly like {@link com.vendorservice.model.Vendor}.
+ */
+public class VendorView {
+
+    private final Long id;
+    private final String name;
+    private final long version;
+
+    public VendorView(Long id, String name, long version) {
+        this.id = id;
+        this.name = name;
+        this.version = version;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -2,7 +2,14 @@ package com.vendorservice.service;
 
 import com.vendorservice.model.Vendor;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface VendorService {
     Vendor getVendorById(Long id);
+    List<Vendor> getVendorsByIds(Collection<Long> ids);
     Vendor updateVendor(Long id, Vendor vendor);
+    Vendor patchVendor(Long id, Map<String, Object> changes, Long expectedVersion);
+    List<Vendor> upsertVendors(List<Vendor> vendors);
 }
@@ -3,26 +3,133 @@ package com.vendorservice.service;
 import com.vendorservice.exception.ResourceNotFoundException;
 import com.vendorservice.model.Vendor;
 import com.vendorservice.repository.VendorRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 public class VendorServiceImplementation implements VendorService {
 
     private VendorRepository repository;
+    static final int IN_CLAUSE_CHUNK_SIZE = 500;
 
     public VendorServiceImplementation(VendorRepository repository) {
         this.repository = repository;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Vendor getVendorById(Long id) {
         return repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
     }
 
+    /**
+     * Loads the vendors with an IN-list query per chunk of ids. Results follow the order
+     * of the requested ids, duplicates are collapsed and unknown ids are skipped.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Vendor> getVendorsByIds(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<Long, Vendor> found = new HashMap<>(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinctIds.size()));
+            repository.findAllById(chunk).forEach(vendor -> found.put(vendor.getId(), vendor));
+        }
+
+        return distinctIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Copies the updatable fields onto the stored vendor, so the version is taken from the
+     * database row rather than the request body and is incremented by the save.
+     */
     @Override
     public Vendor updateVendor(Long id, Vendor vendor) {
-        vendor.setId(id);
-        return repository.save(vendor);
+        Vendor existing = getVendorById(id);
+        existing.setName(vendor.getName());
+        return repository.save(existing);
+    }
+
+    /**
+     * Applies only the supplied fields to the stored vendor. With {@code @DynamicUpdate} the
+     * flush at commit writes just the changed columns plus the version, guarded by the version
+     * that was read. A non-null {@code expectedVersion} must match the stored version up front.
+     */
+    @Override
+    @Transactional
+    public Vendor patchVendor(Long id, Map<String, Object> changes, Long expectedVersion) {
+        Vendor existing = getVendorById(id);
+        if (expectedVersion != null && expectedVersion != existing.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Vendor.class, id);
+        }
+        changes.forEach((field, value) -> {
+            if (!"name".equals(field)) {
+                throw new IllegalArgumentException("Field '" + field + "' cannot be patched");
+            }
+            if (value == null || value.toString().trim().isEmpty()) {
+                throw new IllegalArgumentException("name cannot be empty");
+            }
+            existing.setName(value.toString());
+        });
+        return existing;
+    }
+
+    /**
+     * Resolves each vendor by name, creating the ones that do not exist yet, and returns one
+     * vendor per input entry in input order; names with the same {@link Vendor#nameKey(String)}
+     * resolve to the same vendor. Keys are looked up with an IN-list query per chunk and the
+     * missing vendors are saved together, which Hibernate sends as JDBC insert batches. The key
+     * is unique in the schema, so a concurrent upsert of the same name fails this one at commit
+     * with a {@link org.springframework.dao.DataIntegrityViolationException} instead of creating
+     * a duplicate.
+     */
+    @Override
+    @Transactional
+    public List<Vendor> upsertVendors(List<Vendor> vendors) {
+        // first spelling of each name wins, the others share its key
+        Map<String, String> namesByKey = new LinkedHashMap<>();
+        vendors.forEach(vendor -> namesByKey.putIfAbsent(Vendor.nameKey(requireName(vendor)), vendor.getName()));
+        List<String> keys = new ArrayList<>(namesByKey.keySet());
+
+        Map<String, Vendor> byKey = new HashMap<>(keys.size());
+        for (int from = 0; from < keys.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<String> chunk = keys.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, keys.size()));
+            repository.findByNameKeyIn(chunk).forEach(vendor -> byKey.put(Vendor.nameKey(vendor.getName()), vendor));
+
+            List<Vendor> missing = chunk.stream()
+                    .filter(key -> !byKey.containsKey(key))
+                    .map(key -> new Vendor(namesByKey.get(key)))
+                    .collect(Collectors.toList());
+            repository.saveAll(missing).forEach(vendor -> byKey.put(Vendor.nameKey(vendor.getName()), vendor));
+        }
+
+        return vendors.stream()
+                .map(vendor -> byKey.get(Vendor.nameKey(vendor.getName())))
+                .collect(Collectors.toList());
+    }
+
+    private static String requireName(Vendor vendor) {
+        if (vendor == null || vendor.getName() == null || vendor.getName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Every vendor needs a name");
+        }
+        return vendor.getName();
     }
 }
@@ -5,16 +5,22 @@ import com.vendorservice.controller.ExceptionHandler.RestExceptionHandler;
 import com.vendorservice.exception.ResourceNotFoundException;
 import com.vendorservice.model.Vendor;
 import com.vendorservice.repository.VendorRepository;
+import com.vendorservice.repository.VendorView;
 import com.vendorservice.service.VendorService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.Collections;
 import java.util.List;
 
 //import static com.vendorservice.controller.VendorController.VENDOR_URL;
@@ -24,9 +30,13 @@ import static org.hamcrest.core.IsEqual.equalTo;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -63,25 +73,52 @@ class VendorControllerTest {
         mockMvc.perform(get( "/").contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-        verify(repository).findAll();
+        verify(repository).findViewsByIdGreaterThan(0L, PageRequest.of(0, 100));
     }
 
     @Test
     @DisplayName("GET / endpoint should list all vendors test")
     void getAllVendors_ShouldReturn_ListTest() throws Exception {
 
-        List<Vendor> data = asList(vendor, new Vendor("2nd Vendor name"));
+        List<VendorView> data = asList(new VendorView(ID, NAME, 0L), new VendorView(2L, "2nd Vendor name", 0L));
 
-        given(repository.findAll()).willReturn(data);
+        given(repository.findViewsByIdGreaterThan(anyLong(), any())).willReturn(data);
 
         mockMvc.perform(get("/").contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(2)));
     }
 
+    @Test
+    @DisplayName("GET / endpoint should seek past cursor and cap page size test")
+    void getAllVendors_ShouldSeekAfterCursor_AndCapLimitTest() throws Exception {
+
+        mockMvc.perform(get("/").param("after", "10").param("limit", "100000")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(repository).findViewsByIdGreaterThan(10L, PageRequest.of(0, 500));
+    }
+
+    @Test
+    @DisplayName("GET /?ids= endpoint should return vendors by ids test")
+    void getVendorsByIds_ShouldReturn_ListTest() throws Exception {
+
+        given(service.getVendorsByIds(any())).willReturn(asList(vendor));
+
+        mockMvc.perform(get("/").param("ids", "1", "2").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", equalTo(ID.intValue())));
+
+        verify(service).getVendorsByIds(asList(1L, 2L));
+    }
+
     @Test
     @DisplayName("GET /{id} endpoint should return vendor by id test")
     void getVendorById_ShouldReturn200Test() throws Exception {
 
+        given(service.getVendorById(anyLong())).willReturn(vendor);
+
         mockMvc.perform(get( "/1"))
                 .andExpect(status().isOk());
 
@@ -99,6 +136,35 @@ class VendorControllerTest {
                 .andExpect(jsonPath("$.name", equalTo(vendor.getName())));
     }
 
+    @Test
+    @DisplayName("GET /{id} endpoint should return 304 when If-None-Match matches the version test")
+    void getVendorById_ShouldReturnNotModifiedTest() throws Exception {
+
+        vendor.setVersion(2L);
+        given(service.getVendorById(anyLong())).willReturn(vendor);
+
+        mockMvc.perform(get("/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+
+        mockMvc.perform(get("/1").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET / endpoint should tag the page and honour If-None-Match test")
+    void getAllVendors_ShouldReturnNotModifiedTest() throws Exception {
+
+        given(repository.findViewsByIdGreaterThan(anyLong(), any())).willReturn(asList(new VendorView(ID, NAME, 0L)));
+        String etag = mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     @DisplayName("POST / endpoint should return 201 test")
     void createVendor_ShouldReturn201Test() throws Exception {
@@ -128,6 +194,81 @@ class VendorControllerTest {
                 .andExpect(jsonPath("$.name", equalTo(vendor.getName())));
     }
 
+    @Test
+    @DisplayName("POST /bulk endpoint should return vendors in input order test")
+    void upsertVendors_ShouldReturnVendorsTest() throws Exception {
+
+        Vendor second = new Vendor("2nd Vendor name");
+        second.setId(2L);
+        given(service.upsertVendors(any())).willReturn(asList(second, vendor));
+
+        mockMvc.perform(post("/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(asList(second, vendor))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", equalTo(2)))
+                .andExpect(jsonPath("$[1].id", equalTo(ID.intValue())));
+    }
+
+    @Test
+    @DisplayName("POST /bulk endpoint should reject vendors without a name test")
+    void upsertVendors_ShouldReturn400Test() throws Exception {
+
+        given(service.upsertVendors(any())).willThrow(new IllegalArgumentException("Every vendor needs a name"));
+
+        mockMvc.perform(post("/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"name\":null}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /bulk endpoint should retry once when a concurrent upsert created a name first test")
+    void upsertVendors_ConcurrentInsertShouldRetryTest() throws Exception {
+
+        given(service.upsertVendors(any()))
+                .willThrow(new DataIntegrityViolationException("uk_vendor_name_key"))
+                .willReturn(Collections.singletonList(vendor));
+
+        mockMvc.perform(post("/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(Collections.singletonList(vendor))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", equalTo(ID.intValue())));
+
+        verify(service, times(2)).upsertVendors(any());
+    }
+
+    @Test
+    @DisplayName("POST /bulk endpoint should return 409 when the retry conflicts again test")
+    void upsertVendors_RepeatedConflictShouldReturn409Test() throws Exception {
+
+        given(service.upsertVendors(any())).willThrow(new DataIntegrityViolationException("uk_vendor_name_key"));
+
+        mockMvc.perform(post("/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(Collections.singletonList(vendor))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("POST /bulk endpoint should reject oversized requests test")
+    void upsertVendors_TooManyShouldReturn400Test() throws Exception {
+
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i <= VendorController.MAX_BULK_SIZE; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"name\":\"v").append(i).append("\"}");
+        }
+
+        mockMvc.perform(post("/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body.append("]").toString()))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).upsertVendors(any());
+    }
+
     @Test
     @DisplayName("PUT /{id} endpoint should return 200 test")
     void updateVendor_ShouldReturn200Test() throws Exception {
@@ -157,6 +298,39 @@ class VendorControllerTest {
                 .andExpect(jsonPath("$.name", equalTo(vendor.getName())));
     }
 
+    @Test
+    @DisplayName("PATCH /{id} endpoint should pass the If-Match version and return the new ETag test")
+    void patchVendor_ShouldReturnPatchedVendorTest() throws Exception {
+
+        vendor.setVersion(2L);
+        given(service.patchVendor(anyLong(), any(), any())).willReturn(vendor);
+
+        mockMvc.perform(patch("/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .content("{\"name\": \"TEST_VENDOR\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+
+        verify(service).patchVendor(ID, Collections.singletonMap("name", NAME), 1L);
+    }
+
+    @Test
+    @DisplayName("PATCH /{id} endpoint should return 412 on a version conflict test")
+    void patchVendor_ShouldReturn412Test() throws Exception {
+
+        given(service.patchVendor(anyLong(), any(), any()))
+                .willThrow(new ObjectOptimisticLockingFailureException(Vendor.class, ID));
+
+        mockMvc.perform(patch("/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "W/\"1\"")
+                .content("{\"name\": \"renamed\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(service).patchVendor(ID, Collections.singletonMap("name", "renamed"), -1L);
+    }
+
     @Test
     @DisplayName("DELETE /{id} endpoint should delete Vendor test")
     void deleteVendor() throws Exception {
@@ -0,0 +1,73 @@
+package com.vendorservice.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VendorNameKeysTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private VendorNameKeys nameKeys;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE vendor (id BIGINT PRIMARY KEY, name VARCHAR(255), name_key VARCHAR(255))");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX uk_vendor_name_key ON vendor (name_key)");
+        nameKeys = new VendorNameKeys(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Backfill should key old rows and leave later duplicates of a key unset test")
+    void backfillTest() {
+        jdbcTemplate.update("INSERT INTO vendor (id, name) VALUES (2, 'ACM\u00c9 ')");
+        jdbcTemplate.update("INSERT INTO vendor (id, name) VALUES (1, 'Acme')");
+        jdbcTemplate.update("INSERT INTO vendor (id, name) VALUES (3, 'Other')");
+        jdbcTemplate.update("INSERT INTO vendor (id, name, name_key) VALUES (4, 'Taken', 'taken')");
+        jdbcTemplate.update("INSERT INTO vendor (id, name) VALUES (5, 'TAKEN')");
+
+        nameKeys.backfill();
+
+        assertEquals("acme", nameKey(1));
+        assertNull(nameKey(2));
+        assertEquals("other", nameKey(3));
+        assertEquals("taken", nameKey(4));
+        assertNull(nameKey(5));
+    }
+
+    @Test
+    @DisplayName("Backfill should page through more rows than fit in one page test")
+    void backfill_PagedTest() {
+        int rows = VendorNameKeys.PAGE_SIZE + 1;
+        for (int id = 1; id <= rows; id++) {
+            jdbcTemplate.update("INSERT INTO vendor (id, name) VALUES (?, ?)", id, "Vendor " + id);
+        }
+
+        nameKeys.backfill();
+
+        assertEquals(Integer.valueOf(0),
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM vendor WHERE name_key IS NULL", Integer.class));
+        assertEquals("vendor " + rows, nameKey(rows));
+    }
+
+    private String nameKey(long id) {
+        return jdbcTemplate.queryForObject("SELECT name_key FROM vendor WHERE id = ?", String.class, id);
+    }
+}
@@ -8,9 +8,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
+import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -62,19 +66,114 @@ class VendorServiceImplementationTest {
         assertEquals("User not found with id: '1'", e.getMessage());
     }
 
+    @Test
+    @DisplayName("Find vendors by ids should keep request order and skip unknown ids test")
+    void getVendorsByIdsTest() {
+        Vendor second = new Vendor("Second_Vendor");
+        second.setId(2L);
+
+        given(repository.findAllById(any())).willReturn(asList(vendor, second));
+
+        List<Vendor> foundVendors = service.getVendorsByIds(asList(2L, ID, ID, 9999L));
+
+        then(repository).should().findAllById(asList(2L, ID, 9999L));
+        assertEquals(asList(second, vendor), foundVendors);
+    }
+
+    @Test
+    @DisplayName("Upsert vendors should reuse existing names, create the rest and keep input order test")
+    void upsertVendorsTest() {
+        given(repository.findByNameKeyIn(any())).willReturn(Collections.singletonList(vendor));
+        given(repository.saveAll(any())).willAnswer(invocation -> {
+            List<Vendor> saved = invocation.getArgument(0);
+            saved.forEach(created -> created.setId(100L));
+            return saved;
+        });
+
+        List<Vendor> result = service.upsertVendors(asList(new Vendor("New_Vendor"), new Vendor(NAME), new Vendor(NAME)));
+
+        then(repository).should().findByNameKeyIn(asList("new_vendor", "test_vendor"));
+        assertEquals(3, result.size());
+        assertEquals(Long.valueOf(100L), result.get(0).getId());
+        assertEquals("New_Vendor", result.get(0).getName());
+        assertSame(vendor, result.get(1));
+        assertSame(vendor, result.get(2));
+    }
+
+    @Test
+    @DisplayName("Upsert vendors should match names by their case- and accent-insensitive key test")
+    void upsertVendors_CaseAndAccentInsensitiveTest() {
+        Vendor acme = new Vendor("Acme");
+        acme.setId(5L);
+
+        given(repository.findByNameKeyIn(any())).willReturn(Collections.singletonList(acme));
+
+        List<Vendor> result = service.upsertVendors(asList(new Vendor("acme"), new Vendor("ACM\u00c9 "), new Vendor("Acme")));
+
+        then(repository).should().findByNameKeyIn(Collections.singletonList("acme"));
+        then(repository).should().saveAll(Collections.emptyList());
+        assertEquals(3, result.size());
+        result.forEach(resolved -> assertSame(acme, resolved));
+    }
+
+    @Test
+    @DisplayName("Upsert vendors without a name should fail before touching the database test")
+    void upsertVendors_MissingNameTest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.upsertVendors(asList(vendor, new Vendor(" "))));
+
+        then(repository).should(never()).saveAll(any());
+    }
+
     @Test
     @DisplayName("Update vendor test")
     void updateVendorTest() {
         Vendor updateData = new Vendor("Updated Test Vendor");
-        updateData.setId(ID);
+        vendor.setVersion(2L);
 
-        given(repository.save(any())).willReturn(updateData);
+        given(repository.findById(ID)).willReturn(Optional.of(vendor));
+        given(repository.save(any())).willAnswer(invocation -> invocation.getArgument(0));
 
-        Vendor updatedUser = service.updateVendor(1L, vendor);
+        Vendor updatedUser = service.updateVendor(1L, updateData);
 
-        then(repository).should().save(any());
+        then(repository).should().save(vendor);
         assertNotNull(updatedUser);
-        assertEquals(updateData.getId(), updatedUser.getId());
+        assertEquals(ID, updatedUser.getId());
         assertEquals(updateData.getName(), updatedUser.getName());
+        assertEquals(2L, updatedUser.getVersion());
+    }
+
+    @Test
+    @DisplayName("Update vendor that does not exist test")
+    void updateVendor_NotFoundTest() {
+        given(repository.findById(anyLong())).willReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.updateVendor(1L, vendor));
+
+        then(repository).should(never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Patch vendor should rename the stored vendor without saving it explicitly test")
+    void patchVendorTest() {
+        given(repository.findById(ID)).willReturn(Optional.of(vendor));
+
+        Vendor patched = service.patchVendor(ID, Collections.singletonMap("name", "Renamed"), null);
+
+        assertEquals("Renamed", patched.getName());
+        then(repository).should(never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Patch vendor with a stale version or unknown field should fail test")
+    void patchVendor_InvalidTest() {
+        vendor.setVersion(3L);
+        given(repository.findById(ID)).willReturn(Optional.of(vendor));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> service.patchVendor(ID, Collections.singletonMap("name", "Renamed"), 2L));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.patchVendor(ID, Collections.singletonMap("id", 5), null));
+        assertEquals(NAME, vendor.getName());
     }
-}
\ No newline at end of file
+}